@@ -0,0 +1,67 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = parseInt(__ENV.USERS || '50');
+
+const sessionsCreated = new Trend('tomcat_sessions_created');
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-vus',
+            vus: USERS,
+            duration: __ENV.DURATION || '1m',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{name:list}': ['p(95)<50'],
+        tomcat_sessions_created: ['max==0'],
+    },
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export function setup() {
+    const tokens = [];
+    const run = Date.now();
+    for (let i = 0; i < USERS; i++) {
+        const username = `load-${run}-${i}`;
+        const password = 'password123';
+        const res = http.post(`${BASE_URL}/api/auth/register`,
+            JSON.stringify({ username, email: `${username}@load.test`, password }), JSON_HEADERS);
+        check(res, { 'registered': (r) => r.status === 200 });
+        const token = res.json('token');
+        const auth = { headers: { Authorization: `Bearer ${token}`, 'Content-Type': 'application/json' } };
+        for (let t = 0; t < 20; t++) {
+            http.post(`${BASE_URL}/api/tasks`,
+                JSON.stringify({ title: `task ${t}`, description: 'load test', expiryDate: '2030-01-01T00:00:00Z' }),
+                auth);
+        }
+        tokens.push(token);
+    }
+    return { tokens };
+}
+
+export default function (data) {
+    const token = data.tokens[(__VU - 1) % data.tokens.length];
+    const res = http.get(`${BASE_URL}/api/tasks?limit=20`, {
+        headers: { Authorization: `Bearer ${token}` },
+        tags: { name: 'list' },
+    });
+    check(res, {
+        'status is 200': (r) => r.status === 200,
+        'no session cookie': (r) => !r.headers['Set-Cookie'],
+    });
+}
+
+export function teardown(data) {
+    const res = http.get(`${BASE_URL}/actuator/metrics/tomcat.sessions.created`, {
+        headers: { Authorization: `Bearer ${data.tokens[0]}` },
+    });
+    if (res.status === 200) {
+        sessionsCreated.add(res.json('measurements.0.value'));
+    }
+}
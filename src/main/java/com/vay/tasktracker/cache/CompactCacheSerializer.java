@@ -0,0 +1,114 @@
+package com.vay.tasktracker.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte FORMAT_VERSION = 2;
+    static final byte FLAG_DEFLATED = 1;
+
+    private static final int HEADER_LENGTH = 2;
+    private static final byte JSON_OBJECT_START = '{';
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final RedisSerializer<Object> legacySerializer;
+    private final int compressionThreshold;
+
+    public CompactCacheSerializer(ObjectMapper payloadMapper,
+                                  Class<?> valueType,
+                                  RedisSerializer<Object> legacySerializer,
+                                  int compressionThreshold) {
+        this.reader = payloadMapper.readerFor(valueType);
+        this.writer = payloadMapper.writerFor(valueType);
+        this.legacySerializer = legacySerializer;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        byte[] payload;
+        try {
+            payload = writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value", e);
+        }
+        boolean deflate = payload.length > compressionThreshold;
+        byte[] body = deflate ? deflate(payload) : payload;
+
+        byte[] result = new byte[HEADER_LENGTH + body.length];
+        result[0] = FORMAT_VERSION;
+        result[1] = deflate ? FLAG_DEFLATED : 0;
+        System.arraycopy(body, 0, result, HEADER_LENGTH, body.length);
+        return result;
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == JSON_OBJECT_START) {
+            return legacySerializer.deserialize(bytes);
+        }
+        if (bytes[0] != FORMAT_VERSION || bytes.length < HEADER_LENGTH) {
+            return null;
+        }
+        byte[] body = Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+        try {
+            return reader.readValue((bytes[1] & FLAG_DEFLATED) != 0 ? inflate(body) : body);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache value", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] body) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(body);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 2);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && inflater.needsInput()) {
+                    throw new SerializationException("Truncated compressed cache value");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupted compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.vay.tasktracker.cache;
+
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.util.ByteUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+public class ReactiveRedisCache {
+
+    private final String name;
+    private final RedisCacheConfiguration configuration;
+    private final ReactiveRedisTemplate<byte[], byte[]> template;
+    private final Function<String, Mono<?>> evictionPublisher;
+
+    public ReactiveRedisCache(String name,
+                              RedisCacheConfiguration configuration,
+                              ReactiveRedisConnectionFactory connectionFactory,
+                              Function<String, Mono<?>> evictionPublisher) {
+        this.name = name;
+        this.configuration = configuration;
+        this.template = new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext.byteArray());
+        this.evictionPublisher = evictionPublisher;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Mono<Object> get(Object key) {
+        return template.opsForValue().get(cacheKey(key))
+                .mapNotNull(bytes -> configuration.getValueSerializationPair().read(ByteBuffer.wrap(bytes)));
+    }
+
+    public Mono<Boolean> put(Object key, Object value) {
+        byte[] bytes = ByteUtils.getBytes(configuration.getValueSerializationPair().write(value));
+        Duration ttl = configuration.getTtlFunction().getTimeToLive(key, value);
+        return ttl.isZero() || ttl.isNegative()
+                ? template.opsForValue().set(cacheKey(key), bytes)
+                : template.opsForValue().set(cacheKey(key), bytes, ttl);
+    }
+
+    public Mono<Void> evict(Object key) {
+        return template.delete(cacheKey(key))
+                .then(evictionPublisher.apply(key.toString()))
+                .then();
+    }
+
+    private byte[] cacheKey(Object key) {
+        return (configuration.getKeyPrefixFor(name) + key).getBytes(StandardCharsets.UTF_8);
+    }
+}
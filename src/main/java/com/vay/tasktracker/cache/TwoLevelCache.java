@@ -0,0 +1,170 @@
+package com.vay.tasktracker.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final InvalidationPublisher invalidationPublisher;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote,
+                         InvalidationPublisher invalidationPublisher) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<String, Object> getLocalCache() {
+        return local;
+    }
+
+    public Cache getRemoteCache() {
+        return remote;
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            return null;
+        }
+        local.put(localKey, wrapper.get());
+        return wrapper.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(localKey, load);
+        if (inFlight != null) {
+            return (T) awaitLoad(key, inFlight);
+        }
+
+        try {
+            Object value = loadThroughRemote(key, localKey, load, valueLoader);
+            load.complete(value);
+            return (T) value;
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightLoads.remove(localKey, load);
+        }
+    }
+
+    private Object loadThroughRemote(Object key, String localKey, CompletableFuture<Object> load,
+                                     Callable<?> valueLoader) {
+        ValueWrapper wrapper = remote.get(key);
+        Object remoteValue = wrapper != null ? wrapper.get() : null;
+        Object value = remoteValue;
+        if (value == null) {
+            try {
+                value = valueLoader.call();
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+            if (value == null) {
+                return null;
+            }
+        }
+        if (inFlightLoads.remove(localKey, load)) {
+            if (remoteValue == null) {
+                remote.put(key, value);
+            }
+            local.put(localKey, value);
+        }
+        return value;
+    }
+
+    private static Object awaitLoad(Object key, CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to load cache entry for key " + key, ex.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        inFlightLoads.remove(localKey(key));
+        remote.put(key, value);
+        local.put(localKey(key), value);
+        invalidationPublisher.publish(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        inFlightLoads.remove(localKey(key));
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        invalidationPublisher.publish(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        inFlightLoads.clear();
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.publish(name, null);
+    }
+
+    void evictLocal(String key) {
+        inFlightLoads.remove(key);
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        inFlightLoads.clear();
+        local.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return key.toString();
+    }
+
+    @FunctionalInterface
+    public interface InvalidationPublisher {
+        void publish(String cacheName, @Nullable String key);
+    }
+}
@@ -0,0 +1,102 @@
+package com.vay.tasktracker.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    public static final String INVALIDATION_CHANNEL = "task_tracker:cache-invalidation";
+
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final RedisCacheManager remote;
+    private final Caffeine<Object, Object> localBuilder;
+    private final StringRedisTemplate redisTemplate;
+
+    public TwoLevelCacheManager(RedisCacheManager remote,
+                                Caffeine<Object, Object> localBuilder,
+                                StringRedisTemplate redisTemplate) {
+        this.remote = remote;
+        this.localBuilder = localBuilder;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        remote.initializeCaches();
+        return remote.getCacheNames().stream()
+                .map(this::getMissingCache)
+                .toList();
+    }
+
+    @Override
+    @Nullable
+    protected Cache getMissingCache(String name) {
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoLevelCache(n, localBuilder.build(), remoteCache, this::publish));
+    }
+
+    @Nullable
+    public ReactiveRedisCache getReactiveCache(String name, ReactiveRedisConnectionFactory connectionFactory) {
+        RedisCacheConfiguration configuration = remote.getCacheConfigurations().get(name);
+        if (configuration == null) {
+            return null;
+        }
+        ReactiveStringRedisTemplate publisher = new ReactiveStringRedisTemplate(connectionFactory);
+        return new ReactiveRedisCache(name, configuration, connectionFactory,
+                key -> publisher.convertAndSend(INVALIDATION_CHANNEL, message(name, key))
+                        .doOnError(e -> log.warn("Could not broadcast invalidation for cache {}: {}", name, e.getMessage()))
+                        .onErrorComplete());
+    }
+
+    public void handleInvalidation(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[2])) {
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[2]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    private void publish(String cacheName, @Nullable String key) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message(cacheName, key));
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast invalidation for cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private String message(String cacheName, @Nullable String key) {
+        return key == null
+                ? String.join(SEPARATOR, nodeId, cacheName, CLEAR)
+                : String.join(SEPARATOR, nodeId, cacheName, EVICT, key);
+    }
+}
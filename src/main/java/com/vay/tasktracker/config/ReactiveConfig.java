@@ -0,0 +1,25 @@
+package com.vay.tasktracker.config;
+
+import com.vay.tasktracker.cache.ReactiveRedisCache;
+import com.vay.tasktracker.cache.TwoLevelCacheManager;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ReactiveRedisCache reactiveTaskCache(TwoLevelCacheManager cacheManager,
+                                                ReactiveRedisConnectionFactory connectionFactory) {
+        return cacheManager.getReactiveCache("tasks", connectionFactory);
+    }
+}
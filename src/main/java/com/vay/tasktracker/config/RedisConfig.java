@@ -1,31 +1,108 @@
 package com.vay.tasktracker.config;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vay.tasktracker.cache.CompactCacheSerializer;
+import com.vay.tasktracker.cache.TwoLevelCacheManager;
+import com.vay.tasktracker.cache.TwoLevelCacheMeterBinderProvider;
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.model.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Set;
+import java.util.function.Function;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate redisTemplate,
+                                             @Value("${app.cache.tasks.ttl}") Duration tasksTtl,
+                                             @Value("${app.cache.user-availability.ttl}") Duration userAvailabilityTtl,
+                                             @Value("${app.cache.local.max-size}") long localMaxSize,
+                                             @Value("${app.cache.local.ttl}") Duration localTtl,
+                                             @Value("${app.cache.binary-caches}") Set<String> binaryCaches,
+                                             @Value("${app.cache.compression-threshold}") int compressionThreshold) {
+        RedisSerializer<Object> jsonSerializer = GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(mapper(JsonMapper.builder()))
+                .defaultTyping(true)
+                .build();
+        SmileMapper smileMapper = mapper(SmileMapper.builder());
+
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofHours(1))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer))
                 .disableCachingNullValues();
+        Function<Class<?>, RedisCacheConfiguration> compactConfig = type -> config.serializeValuesWith(
+                RedisSerializationContext.SerializationPair.fromSerializer(
+                        new CompactCacheSerializer(smileMapper, type, jsonSerializer, compressionThreshold)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager remote = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withCacheConfiguration("users",
+                        binaryCaches.contains("users") ? compactConfig.apply(User.class) : config)
+                .withCacheConfiguration("tasks",
+                        (binaryCaches.contains("tasks") ? compactConfig.apply(TaskDto.class) : config)
+                                .entryTtl(tasksTtl))
+                .withCacheConfiguration("user-availability",
+                        (binaryCaches.contains("user-availability") ? compactConfig.apply(Boolean.class) : config)
+                                .entryTtl(userAvailabilityTtl))
+                .enableStatistics()
+                .build();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(remote, Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats(), redisTemplate);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.handleInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    public TwoLevelCacheMeterBinderProvider twoLevelCacheMeterBinderProvider() {
+        return new TwoLevelCacheMeterBinderProvider();
+    }
+
+    private static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M mapper(B builder) {
+        return builder
+                .addModule(new JavaTimeModule())
+                .disable(MapperFeature.USE_GETTERS_AS_SETTERS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
                 .build();
     }
-} 
\ No newline at end of file
+}
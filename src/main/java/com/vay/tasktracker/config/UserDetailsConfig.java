@@ -4,9 +4,11 @@ import com.vay.tasktracker.service.UserService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 @Configuration
+@Profile("!reactive")
 public class UserDetailsConfig {
 
     @Bean
@@ -2,9 +2,11 @@ package com.vay.tasktracker.controller;
 
 import com.vay.tasktracker.dto.auth.AuthResponse;
 import com.vay.tasktracker.dto.auth.LoginRequest;
+import com.vay.tasktracker.dto.auth.RefreshRequest;
 import com.vay.tasktracker.dto.auth.RegisterRequest;
 import com.vay.tasktracker.model.User;
 import com.vay.tasktracker.security.JwtTokenProvider;
+import com.vay.tasktracker.security.RefreshTokenService;
 import com.vay.tasktracker.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,18 +14,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @Tag(name = "Authentication", description = "API for user registration and authentication")
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
@@ -31,48 +37,80 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final ThreadPoolTaskExecutor passwordHashingExecutor;
 
     @Operation(summary = "Register new user", description = "Creates a new user and returns JWT token")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User successfully registered"),
         @ApiResponse(responseCode = "400", description = "Invalid request data"),
-        @ApiResponse(responseCode = "409", description = "User with this username or email already exists")
+        @ApiResponse(responseCode = "409", description = "User with this username or email already exists"),
+        @ApiResponse(responseCode = "503", description = "Too many concurrent authentication requests")
     })
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        User user = userService.registerUser(request);
-        
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            User user = userService.registerUser(request);
+            String jwt = tokenProvider.generateToken(user);
 
-        return ResponseEntity.ok(AuthResponse.builder()
-                .token(jwt)
-                .username(user.getUsername())
-                .build());
+            return ResponseEntity.ok(AuthResponse.builder()
+                    .token(jwt)
+                    .refreshToken(refreshTokenService.issue(user.getUsername()))
+                    .username(user.getUsername())
+                    .build());
+        }, passwordHashingExecutor);
     }
 
     @Operation(summary = "Login", description = "Authenticates user and returns JWT token")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successful authentication"),
         @ApiResponse(responseCode = "400", description = "Invalid request data"),
-        @ApiResponse(responseCode = "401", description = "Invalid credentials")
+        @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+        @ApiResponse(responseCode = "503", description = "Too many concurrent authentication requests")
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+
+            String jwt = tokenProvider.generateToken(authentication);
+
+            return ResponseEntity.ok(AuthResponse.builder()
+                    .token(jwt)
+                    .refreshToken(refreshTokenService.issue(authentication.getName()))
+                    .username(request.getUsername())
+                    .build());
+        }, passwordHashingExecutor);
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+    @Operation(summary = "Refresh", description = "Exchanges a refresh token for a new access token and refresh token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tokens successfully refreshed"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "401", description = "Refresh token is invalid, expired or already used")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        String username = refreshTokenService.consume(request.getRefreshToken());
+        User user = userService.findByUsername(username);
 
         return ResponseEntity.ok(AuthResponse.builder()
-                .token(jwt)
-                .username(request.getUsername())
+                .token(tokenProvider.generateToken(user))
+                .refreshToken(refreshTokenService.issue(username))
+                .username(username)
                 .build());
     }
+
+    @Operation(summary = "Logout", description = "Revokes a refresh token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Refresh token revoked"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.vay.tasktracker.controller;
+
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.dto.payload.TaskPage;
+import com.vay.tasktracker.model.User;
+import com.vay.tasktracker.service.ReactiveTaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("api/tasks")
+public class ReactiveTaskController {
+    private final ReactiveTaskService taskService;
+
+    @GetMapping
+    public Mono<TaskPage> findAll(@AuthenticationPrincipal User user,
+                                  @RequestParam(required = false) Instant expiresFrom,
+                                  @RequestParam(required = false) Instant expiresTo,
+                                  @RequestParam(required = false) String titlePrefix,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "50") int limit) {
+        return taskService.findAll(user.getId(), new TaskFilter(expiresFrom, expiresTo, titlePrefix), cursor, limit);
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDto> export(@AuthenticationPrincipal User user) {
+        return taskService.exportAll(user.getId());
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<TaskDto>> findById(@AuthenticationPrincipal User user, @PathVariable UUID id,
+                                                  ServerWebExchange exchange) {
+        return taskService.findById(user.getId(), id).mapNotNull(task -> {
+            String etag = TaskETags.of(task.version());
+            if (etag == null) {
+                return ResponseEntity.ok(task);
+            }
+            if (exchange.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).body(task);
+        });
+    }
+
+    @PostMapping
+    public Mono<Void> create(@AuthenticationPrincipal User user, @RequestBody TaskDto task) {
+        return taskService.create(user.getId(), task);
+    }
+
+    @PutMapping("{id}")
+    public Mono<Void> update(@AuthenticationPrincipal User user, @PathVariable UUID id, @RequestBody TaskDto task,
+                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> taskService.update(user.getId(), id, task, TaskETags.parseIfMatch(ifMatch)));
+    }
+
+    @PatchMapping("{id}")
+    public Mono<Void> patch(@AuthenticationPrincipal User user, @PathVariable UUID id, @RequestBody TaskDto changes,
+                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> taskService.patch(user.getId(), id, changes, TaskETags.parseIfMatch(ifMatch)));
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<Void> delete(@AuthenticationPrincipal User user, @PathVariable UUID id,
+                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> taskService.delete(user.getId(), id, TaskETags.parseIfMatch(ifMatch)));
+    }
+}
@@ -1,41 +1,143 @@
 package com.vay.tasktracker.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vay.tasktracker.dto.payload.TaskBatchResult;
+import com.vay.tasktracker.dto.payload.TaskChanges;
 import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.dto.payload.TaskPage;
+import com.vay.tasktracker.model.User;
+import com.vay.tasktracker.service.TaskEventBroadcaster;
 import com.vay.tasktracker.service.TaskService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("api/tasks")
 public class TaskController {
     private final TaskService taskService;
+    private final TaskEventBroadcaster eventBroadcaster;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public List<TaskDto> findAll() {
-        return taskService.findAll();
+    public ResponseEntity<TaskPage> findAll(@AuthenticationPrincipal User user,
+                                            @RequestParam(required = false) Instant expiresFrom,
+                                            @RequestParam(required = false) Instant expiresTo,
+                                            @RequestParam(required = false) String titlePrefix,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "50") int limit,
+                                            WebRequest request) {
+        TaskFilter filter = new TaskFilter(expiresFrom, expiresTo, titlePrefix);
+        Instant lastModified = taskService.lastModified(user.getId());
+        if (lastModified == null) {
+            return ResponseEntity.ok(taskService.findAll(user.getId(), filter, cursor, limit));
+        }
+        String etag = TaskETags.ofList(lastModified, filter, cursor, limit);
+        if (request.checkNotModified(etag, lastModified.toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(taskService.findAll(user.getId(), filter, cursor, limit));
+    }
+
+    @GetMapping("changes")
+    public TaskChanges findChanges(@AuthenticationPrincipal User user,
+                                   @RequestParam(required = false) String since,
+                                   @RequestParam(defaultValue = "100") int limit) {
+        return taskService.findChanges(user.getId(), since, limit);
+    }
+
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal User user,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return eventBroadcaster.subscribe(user.getId(), lastEventId);
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(@AuthenticationPrincipal User user, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writerFor(TaskDto.class);
+        taskService.exportAll(user.getId(), task -> {
+            try {
+                out.write(writer.writeValueAsBytes(task));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
     }
 
     @GetMapping("{id}")
-    public TaskDto findById(@PathVariable UUID id) {
-        return taskService.findById(id);
+    public ResponseEntity<TaskDto> findById(@AuthenticationPrincipal User user, @PathVariable UUID id,
+                                            WebRequest request) {
+        TaskDto task = taskService.findById(user.getId(), id);
+        String etag = TaskETags.of(task.version());
+        if (etag == null) {
+            return ResponseEntity.ok(task);
+        }
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(task);
     }
 
     @PostMapping
-    public void create(@RequestBody TaskDto task) {
-        taskService.create(task);
+    public void create(@AuthenticationPrincipal User user, @RequestBody TaskDto task) {
+        taskService.create(user.getId(), task);
     }
 
     @PutMapping("{id}")
-    public void update(@PathVariable UUID id, @RequestBody TaskDto task) {
-        taskService.update(id, task);
+    public void update(@AuthenticationPrincipal User user, @PathVariable UUID id, @RequestBody TaskDto task,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.update(user.getId(), id, task, TaskETags.parseIfMatch(ifMatch));
+    }
+
+    @PatchMapping("{id}")
+    public void patch(@AuthenticationPrincipal User user, @PathVariable UUID id, @RequestBody TaskDto changes,
+                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.patch(user.getId(), id, changes, TaskETags.parseIfMatch(ifMatch));
     }
 
     @DeleteMapping("{id}")
-    public void delete(@PathVariable UUID id) {
-        taskService.delete(id);
+    public void delete(@AuthenticationPrincipal User user, @PathVariable UUID id,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.delete(user.getId(), id, TaskETags.parseIfMatch(ifMatch));
+    }
+
+    @PostMapping("batch")
+    public List<TaskBatchResult> createAll(@AuthenticationPrincipal User user, @RequestBody List<TaskDto> tasks) {
+        return taskService.createAll(user.getId(), tasks);
+    }
+
+    @PutMapping("batch")
+    public List<TaskBatchResult> updateAll(@AuthenticationPrincipal User user, @RequestBody List<TaskDto> tasks) {
+        return taskService.updateAll(user.getId(), tasks);
+    }
+
+    @PostMapping("batch/delete")
+    public List<TaskBatchResult> deleteAll(@AuthenticationPrincipal User user, @RequestBody List<UUID> ids) {
+        return taskService.deleteAll(user.getId(), ids);
     }
 }
@@ -0,0 +1,43 @@
+package com.vay.tasktracker.controller;
+
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.exception.TaskVersionMismatchException;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    static String ofList(Instant lastModified, TaskFilter filter, String cursor, int limit) {
+        int query = Objects.hash(filter.expiresFrom(), filter.expiresTo(), filter.titlePrefix(), cursor, limit);
+        return "W/\"" + Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, lastModified)) + "-"
+                + Integer.toHexString(query) + "\"";
+    }
+
+    static Long parseIfMatch(String ifMatch) {
+        if (!StringUtils.hasText(ifMatch) || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            throw new TaskVersionMismatchException("If-Match requires a strong entity tag");
+        }
+        if (etag.length() < 2 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            throw new TaskVersionMismatchException("If-Match must be a single entity tag returned by this API");
+        }
+        try {
+            return Long.parseLong(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new TaskVersionMismatchException("If-Match does not match any task version: " + etag);
+        }
+    }
+}
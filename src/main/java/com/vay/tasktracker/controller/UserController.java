@@ -0,0 +1,40 @@
+package com.vay.tasktracker.controller;
+
+import com.vay.tasktracker.dto.auth.UpdateRoleRequest;
+import com.vay.tasktracker.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Users", description = "API for user administration")
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+
+    @Operation(summary = "Change role", description = "Changes a user's role and revokes their issued access tokens")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Role changed"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "403", description = "Caller is not an administrator"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @PutMapping("/{username}/role")
+    public ResponseEntity<Void> updateRole(@PathVariable String username, @Valid @RequestBody UpdateRoleRequest request) {
+        userService.updateRole(username, request.getRole());
+        return ResponseEntity.noContent().build();
+    }
+}
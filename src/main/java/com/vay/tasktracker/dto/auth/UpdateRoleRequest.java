@@ -0,0 +1,11 @@
+package com.vay.tasktracker.dto.auth;
+
+import com.vay.tasktracker.model.User;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class UpdateRoleRequest {
+    @NotNull(message = "Role cannot be empty")
+    private User.Role role;
+}
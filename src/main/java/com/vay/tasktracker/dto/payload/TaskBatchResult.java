@@ -0,0 +1,13 @@
+package com.vay.tasktracker.dto.payload;
+
+import java.util.UUID;
+
+public record TaskBatchResult(
+        int index,
+        UUID id,
+        Status status) {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID
+    }
+}
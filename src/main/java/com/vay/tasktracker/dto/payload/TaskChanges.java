@@ -0,0 +1,11 @@
+package com.vay.tasktracker.dto.payload;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TaskChanges(
+        List<TaskDto> updated,
+        List<UUID> deleted,
+        String watermark,
+        boolean hasMore) {
+}
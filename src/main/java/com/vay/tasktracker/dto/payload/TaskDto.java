@@ -1,9 +1,28 @@
 package com.vay.tasktracker.dto.payload;
 
 import java.time.Instant;
+import java.util.UUID;
 
 public record TaskDto(
+        UUID id,
         String title,
         String description,
-        Instant expiryDate) {
+        Instant expiryDate,
+        Long version) {
+
+    public TaskDto(UUID id, String title, String description, Instant expiryDate) {
+        this(id, title, description, expiryDate, null);
+    }
+
+    public boolean hasChanges() {
+        return title != null || description != null || expiryDate != null;
+    }
+
+    public TaskDto merge(TaskDto changes) {
+        return new TaskDto(id,
+                changes.title() != null ? changes.title() : title,
+                changes.description() != null ? changes.description() : description,
+                changes.expiryDate() != null ? changes.expiryDate() : expiryDate,
+                changes.version() != null ? changes.version() : version);
+    }
 }
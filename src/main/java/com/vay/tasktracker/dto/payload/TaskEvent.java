@@ -0,0 +1,16 @@
+package com.vay.tasktracker.dto.payload;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.UUID;
+
+public record TaskEvent(
+        Type type,
+        @JsonIgnore Long ownerId,
+        UUID id,
+        TaskDto task) {
+
+    public enum Type {
+        CREATED, UPDATED, PATCHED, DELETED, EXPIRED
+    }
+}
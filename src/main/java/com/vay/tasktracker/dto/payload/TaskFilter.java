@@ -0,0 +1,9 @@
+package com.vay.tasktracker.dto.payload;
+
+import java.time.Instant;
+
+public record TaskFilter(
+        Instant expiresFrom,
+        Instant expiresTo,
+        String titlePrefix) {
+}
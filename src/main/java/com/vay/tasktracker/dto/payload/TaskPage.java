@@ -0,0 +1,8 @@
+package com.vay.tasktracker.dto.payload;
+
+import java.util.List;
+
+public record TaskPage(
+        List<TaskDto> items,
+        String nextCursor) {
+}
@@ -0,0 +1,7 @@
+package com.vay.tasktracker.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
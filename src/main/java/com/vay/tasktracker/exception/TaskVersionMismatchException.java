@@ -0,0 +1,7 @@
+package com.vay.tasktracker.exception;
+
+public class TaskVersionMismatchException extends RuntimeException {
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+}
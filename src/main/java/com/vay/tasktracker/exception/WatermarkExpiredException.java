@@ -0,0 +1,7 @@
+package com.vay.tasktracker.exception;
+
+public class WatermarkExpiredException extends RuntimeException {
+    public WatermarkExpiredException(String message) {
+        super(message);
+    }
+}
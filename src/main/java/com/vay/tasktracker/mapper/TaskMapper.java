@@ -3,6 +3,7 @@ package com.vay.tasktracker.mapper;
 import com.vay.tasktracker.dto.payload.TaskDto;
 import com.vay.tasktracker.model.Task;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.ReportingPolicy;
 
@@ -11,6 +12,8 @@ import java.util.List;
 @Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE,
         componentModel = "spring")
 public interface TaskMapper {
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Task toEntity(TaskDto taskDto);
 
     List<Task> toEntity(List<TaskDto> taskDtos);
@@ -0,0 +1,31 @@
+package com.vay.tasktracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_owner_id_deleted_at_task_id", columnList = "owner_id, deleted_at, task_id"),
+        @Index(name = "idx_task_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class TaskTombstone {
+    @Id
+    @Column(name = "task_id")
+    private UUID taskId;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,30 @@
+package com.vay.tasktracker.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final AtomicLong lastTick = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long tick = nextTick(System.currentTimeMillis());
+        long msb = ((tick >>> COUNTER_BITS) << 16) | VERSION | (tick & 0xFFF);
+        long lsb = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    private static long nextTick(long millis) {
+        long now = millis << COUNTER_BITS;
+        return lastTick.updateAndGet(last -> Math.max(now, last + 1));
+    }
+}
@@ -0,0 +1,10 @@
+package com.vay.tasktracker.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record TaskExpiry(
+        UUID id,
+        Long ownerId,
+        Instant expiryDate) {
+}
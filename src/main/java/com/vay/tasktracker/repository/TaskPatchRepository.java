@@ -0,0 +1,18 @@
+package com.vay.tasktracker.repository;
+
+import com.vay.tasktracker.dto.payload.TaskDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskPatchRepository {
+
+    int patch(UUID id, Long ownerId, TaskDto changes, Long expectedVersion);
+
+    int[] replaceAll(List<VersionedUpdate> tasks);
+
+    int[] patchAll(List<VersionedUpdate> changes);
+
+    record VersionedUpdate(TaskDto task, Long expectedVersion) {
+    }
+}
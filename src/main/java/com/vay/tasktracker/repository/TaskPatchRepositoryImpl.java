@@ -0,0 +1,96 @@
+package com.vay.tasktracker.repository;
+
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class TaskPatchRepositoryImpl implements TaskPatchRepository {
+
+    private static final String REPLACE_SQL = "update tasks set title = ?, description = ?, expiry_date = ?, "
+            + "version = ?, updated_at = ? where id = ? and version is not distinct from ?";
+    private static final String PATCH_SQL = "update tasks set title = coalesce(?, title), "
+            + "description = coalesce(?, description), expiry_date = coalesce(?, expiry_date), "
+            + "version = ?, updated_at = ? where id = ? and version is not distinct from ?";
+    private static final int[] ARG_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP_WITH_TIMEZONE,
+            Types.BIGINT, Types.TIMESTAMP_WITH_TIMEZONE, SqlTypeValue.TYPE_UNKNOWN, Types.BIGINT};
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public int patch(UUID id, Long ownerId, TaskDto changes, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        boolean changed = false;
+        if (changes.title() != null) {
+            update.set(task.<String>get("title"), changes.title());
+            changed = true;
+        }
+        if (changes.description() != null) {
+            update.set(task.<String>get("description"), changes.description());
+            changed = true;
+        }
+        if (changes.expiryDate() != null) {
+            update.set(task.<Instant>get("expiryDate"), changes.expiryDate());
+            changed = true;
+        }
+        if (!changed) {
+            throw new IllegalArgumentException("Patch for task %s contains no changes".formatted(id));
+        }
+        update.set(task.<Long>get("version"), cb.sum(cb.coalesce(task.<Long>get("version"), -1L), 1L));
+        update.set(task.<Instant>get("updatedAt"), Instant.now().truncatedTo(ChronoUnit.MICROS));
+
+        Predicate matchesId = cb.and(cb.equal(task.get("id"), id), cb.equal(task.get("owner").get("id"), ownerId));
+        update.where(expectedVersion == null
+                ? matchesId
+                : cb.and(matchesId, cb.equal(task.get("version"), expectedVersion)));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int[] replaceAll(List<VersionedUpdate> tasks) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        return jdbcTemplate.batchUpdate(REPLACE_SQL, tasks.stream().map(task -> toArgs(task, now)).toList(), ARG_TYPES);
+    }
+
+    @Override
+    @Transactional
+    public int[] patchAll(List<VersionedUpdate> changes) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        return jdbcTemplate.batchUpdate(PATCH_SQL, changes.stream().map(task -> toArgs(task, now)).toList(), ARG_TYPES);
+    }
+
+    private static Object[] toArgs(VersionedUpdate update, OffsetDateTime updatedAt) {
+        TaskDto task = update.task();
+        return new Object[]{
+                task.title(),
+                task.description(),
+                task.expiryDate() == null ? null : OffsetDateTime.ofInstant(task.expiryDate(), ZoneOffset.UTC),
+                task.version(),
+                updatedAt,
+                task.id(),
+                update.expectedVersion()
+        };
+    }
+}
@@ -1,9 +1,73 @@
 package com.vay.tasktracker.repository;
 
 import com.vay.tasktracker.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task>, TaskPatchRepository {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from Task t where t.owner.id = :ownerId")
+    Stream<Task> streamAllByOwnerId(Long ownerId);
+
+    Optional<Task> findByIdAndOwnerId(UUID id, Long ownerId);
+
+    boolean existsByIdAndOwnerId(UUID id, Long ownerId);
+
+    List<Task> findAllByOwnerIdAndIdIn(Long ownerId, Collection<UUID> ids);
+
+    @Query("select t.id from Task t where t.owner.id = :ownerId and t.id in :ids")
+    List<UUID> findExistingIds(Long ownerId, Collection<UUID> ids);
+
+    @Query("""
+            select t from Task t
+            where t.owner.id = :ownerId
+              and t.updatedAt <= :until
+              and (t.updatedAt > :since or (t.updatedAt = :since and t.id > :afterId))
+            order by t.updatedAt, t.id
+            """)
+    List<Task> findChangedSince(Long ownerId, Instant since, UUID afterId, Instant until, Limit limit);
+
+    @Query("select max(t.updatedAt) from Task t where t.owner.id = :ownerId")
+    Instant findLastUpdatedAt(Long ownerId);
+
+    @Query("""
+            select new com.vay.tasktracker.repository.TaskExpiry(t.id, t.owner.id, t.expiryDate) from Task t
+            where t.expiryDate < :until
+              and (t.expiryDate > :afterExpiry or (t.expiryDate = :afterExpiry and t.id > :afterId))
+            order by t.expiryDate, t.id
+            """)
+    List<TaskExpiry> findExpiringBefore(Instant afterExpiry, UUID afterId, Instant until, Limit limit);
+
+    @Query("select new com.vay.tasktracker.repository.TaskExpiry(t.id, t.owner.id, t.expiryDate) from Task t "
+            + "where t.id in :ids")
+    List<TaskExpiry> findExpiriesByIdIn(Collection<UUID> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.owner.id = :ownerId")
+    int removeByIdAndOwnerId(UUID id, Long ownerId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.owner.id = :ownerId and t.version = :version")
+    int deleteByIdAndOwnerIdAndVersion(UUID id, Long ownerId, Long version);
 }
@@ -0,0 +1,62 @@
+package com.vay.tasktracker.repository;
+
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static boolean ordersByExpiry(TaskFilter filter) {
+        return filter.expiresFrom() != null || filter.expiresTo() != null;
+    }
+
+    public static Specification<Task> matching(Long ownerId, TaskFilter filter, Instant afterExpiry, UUID afterId) {
+        return Specification.allOf(
+                ownedBy(ownerId),
+                ordersByExpiry(filter) ? expiryAndIdAfter(afterExpiry, afterId) : idAfter(afterId),
+                expiresFrom(filter.expiresFrom()),
+                expiresBefore(filter.expiresTo()),
+                titleStartsWith(filter.titlePrefix()));
+    }
+
+    private static Specification<Task> ownedBy(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    private static Specification<Task> idAfter(UUID after) {
+        return (root, query, cb) -> after == null ? null : cb.greaterThan(root.get("id"), after);
+    }
+
+    private static Specification<Task> expiryAndIdAfter(Instant afterExpiry, UUID afterId) {
+        return (root, query, cb) -> afterId == null ? null : cb.and(
+                cb.greaterThanOrEqualTo(root.get("expiryDate"), afterExpiry),
+                cb.or(cb.greaterThan(root.get("expiryDate"), afterExpiry),
+                        cb.greaterThan(root.get("id"), afterId)));
+    }
+
+    private static Specification<Task> expiresFrom(Instant from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("expiryDate"), from);
+    }
+
+    private static Specification<Task> expiresBefore(Instant to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThan(root.get("expiryDate"), to);
+    }
+
+    private static Specification<Task> titleStartsWith(String prefix) {
+        return (root, query, cb) -> !StringUtils.hasText(prefix) ? null
+                : cb.like(root.get("title"), escapeLike(prefix) + "%", '\\');
+    }
+
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,32 @@
+package com.vay.tasktracker.repository;
+
+import com.vay.tasktracker.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, UUID> {
+
+    @Query("""
+            select t from TaskTombstone t
+            where t.ownerId = :ownerId
+              and t.deletedAt <= :until
+              and (t.deletedAt > :since or (t.deletedAt = :since and t.taskId > :afterId))
+            order by t.deletedAt, t.taskId
+            """)
+    List<TaskTombstone> findDeletedSince(Long ownerId, Instant since, UUID afterId, Instant until, Limit limit);
+
+    @Query("select max(t.deletedAt) from TaskTombstone t where t.ownerId = :ownerId")
+    Instant findLastDeletedAt(Long ownerId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(Instant cutoff);
+}
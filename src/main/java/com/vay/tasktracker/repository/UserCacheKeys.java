@@ -0,0 +1,17 @@
+package com.vay.tasktracker.repository;
+
+import java.util.Locale;
+
+public final class UserCacheKeys {
+
+    private UserCacheKeys() {
+    }
+
+    public static String username(String username) {
+        return "username:" + username;
+    }
+
+    public static String email(String email) {
+        return "email:" + (email == null ? "" : email.toLowerCase(Locale.ROOT));
+    }
+}
@@ -1,13 +1,24 @@
 package com.vay.tasktracker.repository;
 
 import com.vay.tasktracker.model.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    @Query("select u from User u where lower(u.email) = lower(:email)")
     Optional<User> findByEmail(String email);
+
+    @Cacheable(value = "user-availability", key = "T(com.vay.tasktracker.repository.UserCacheKeys).username(#p0)",
+            unless = "#result")
     boolean existsByUsername(String username);
+
+    @Cacheable(value = "user-availability", key = "T(com.vay.tasktracker.repository.UserCacheKeys).email(#p0)",
+            unless = "#result")
+    @Query("select count(u) > 0 from User u where lower(u.email) = lower(:email)")
     boolean existsByEmail(String email);
-} 
\ No newline at end of file
+}
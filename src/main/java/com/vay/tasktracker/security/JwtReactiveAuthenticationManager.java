@@ -0,0 +1,37 @@
+package com.vay.tasktracker.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationService revocationService;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String token = (String) authentication.getCredentials();
+        return Mono.justOrEmpty(tokenProvider.parseClaims(token))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid JWT token")))
+                .flatMap(claims -> revocationService.isRevokedAsync(claims.getSubject(), tokenProvider.getIssuedAt(claims))
+                        .flatMap(revoked -> revoked
+                                ? Mono.error(new BadCredentialsException("JWT token has been revoked"))
+                                : principal(claims, token)));
+    }
+
+    private Mono<Authentication> principal(Claims claims, String token) {
+        return Mono.justOrEmpty(tokenProvider.getPrincipal(claims))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("JWT token carries no user claims")))
+                .map(user -> UsernamePasswordAuthenticationToken.authenticated(user, token, user.getAuthorities()));
+    }
+}
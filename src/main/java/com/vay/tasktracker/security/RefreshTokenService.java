@@ -0,0 +1,90 @@
+package com.vay.tasktracker.security;
+
+import com.vay.tasktracker.exception.InvalidRefreshTokenException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final String TOKEN_KEY_PREFIX = "task_tracker:refresh-token:";
+    private static final String USER_KEY_PREFIX = "task_tracker:refresh-tokens:";
+    private static final String USED_MARKER = "!";
+
+    private static final RedisScript<String> CONSUME_SCRIPT = RedisScript.of("""
+            local value = redis.call('GET', KEYS[1])
+            if value and string.sub(value, 1, 1) ~= '!' then
+                redis.call('SET', KEYS[1], '!' .. value, 'KEEPTTL')
+            end
+            return value
+            """, String.class);
+
+    private final SecureRandom random = new SecureRandom();
+    private final StringRedisTemplate redisTemplate;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${app.jwt.refresh.expiration}")
+    private Duration expiration;
+
+    public String issue(String username) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String tokenHash = TokenHashes.sha256(token);
+
+        redisTemplate.opsForValue().set(TOKEN_KEY_PREFIX + tokenHash, username, expiration);
+        redisTemplate.opsForSet().add(USER_KEY_PREFIX + username, tokenHash);
+        redisTemplate.expire(USER_KEY_PREFIX + username, expiration);
+        return token;
+    }
+
+    public String consume(String token) {
+        String tokenHash = TokenHashes.sha256(token);
+        String value = redisTemplate.execute(CONSUME_SCRIPT, List.of(TOKEN_KEY_PREFIX + tokenHash));
+        if (value == null) {
+            throw new InvalidRefreshTokenException("Refresh token is invalid or expired");
+        }
+
+        if (value.startsWith(USED_MARKER)) {
+            String username = value.substring(USED_MARKER.length());
+            log.warn("Refresh token reuse detected for user {}, revoking all sessions", username);
+            revokeAll(username);
+            tokenRevocationService.revokeTokens(username);
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        redisTemplate.opsForSet().remove(USER_KEY_PREFIX + value, tokenHash);
+        return value;
+    }
+
+    public void revoke(String token) {
+        String tokenHash = TokenHashes.sha256(token);
+        String username = redisTemplate.opsForValue().getAndDelete(TOKEN_KEY_PREFIX + tokenHash);
+        if (username != null && !username.startsWith(USED_MARKER)) {
+            redisTemplate.opsForSet().remove(USER_KEY_PREFIX + username, tokenHash);
+        }
+    }
+
+    public void revokeAll(String username) {
+        Set<String> tokenHashes = redisTemplate.opsForSet().members(USER_KEY_PREFIX + username);
+        List<String> keys = new ArrayList<>();
+        keys.add(USER_KEY_PREFIX + username);
+        if (tokenHashes != null) {
+            tokenHashes.forEach(tokenHash -> keys.add(TOKEN_KEY_PREFIX + tokenHash));
+        }
+        redisTemplate.delete(keys);
+    }
+}
@@ -0,0 +1,82 @@
+package com.vay.tasktracker.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final String KEY_PREFIX = "task_tracker:tokens-revoked-before-ms:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+
+    @Value("${app.jwt.expiration}")
+    private long jwtExpirationInMs;
+
+    @Value("${app.jwt.cache.max-size}")
+    private long maxSize;
+
+    @Value("${app.jwt.revocation.check-ttl}")
+    private Duration checkTtl;
+
+    private Cache<String, Long> revokedBefore;
+
+    @PostConstruct
+    public void init() {
+        this.revokedBefore = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(checkTtl)
+                .build();
+    }
+
+    public boolean isRevoked(String username, Date issuedAt) {
+        Long cutoff = revokedBefore.getIfPresent(username);
+        if (cutoff == null) {
+            cutoff = loadRevokedBefore(username);
+            revokedBefore.put(username, cutoff);
+        }
+        return issuedBefore(cutoff, issuedAt);
+    }
+
+    public Mono<Boolean> isRevokedAsync(String username, Date issuedAt) {
+        Long cached = revokedBefore.getIfPresent(username);
+        Mono<Long> cutoff = cached != null ? Mono.just(cached)
+                : reactiveRedisTemplate.opsForValue().get(KEY_PREFIX + username)
+                        .map(Long::parseLong)
+                        .defaultIfEmpty(0L)
+                        .doOnNext(value -> revokedBefore.put(username, value));
+        return cutoff.map(value -> issuedBefore(value, issuedAt));
+    }
+
+    public void revokeTokens(String username) {
+        long now = Instant.now().toEpochMilli();
+        redisTemplate.opsForValue().set(KEY_PREFIX + username, Long.toString(now),
+                Duration.ofMillis(jwtExpirationInMs));
+        revokedBefore.put(username, now);
+    }
+
+    private static boolean issuedBefore(long cutoff, Date issuedAt) {
+        if (cutoff == 0) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() <= cutoff;
+    }
+
+    private long loadRevokedBefore(String username) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + username);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+}
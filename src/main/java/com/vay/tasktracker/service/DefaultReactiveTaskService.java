@@ -0,0 +1,253 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.cache.ReactiveRedisCache;
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.dto.payload.TaskPage;
+import com.vay.tasktracker.exception.TaskNotFoundException;
+import com.vay.tasktracker.exception.TaskVersionMismatchException;
+import com.vay.tasktracker.model.UuidV7;
+import com.vay.tasktracker.repository.TaskSpecifications;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class DefaultReactiveTaskService implements ReactiveTaskService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String SELECT_TASKS = "select id, title, description, expiry_date, version from tasks";
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveRedisCache taskCache;
+    private final ReactiveTaskEventStream eventStream;
+
+    @Override
+    public Mono<TaskPage> findAll(Long ownerId, TaskFilter filter, String cursor, int limit) {
+        return Mono.defer(() -> {
+            int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+            boolean byExpiry = TaskSpecifications.ordersByExpiry(filter);
+            TaskCursor after = TaskCursor.decode(cursor, byExpiry);
+
+            StringBuilder sql = new StringBuilder(SELECT_TASKS).append(" where owner_id = :ownerId");
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("ownerId", ownerId);
+            if (after != null && byExpiry) {
+                sql.append(" and (expiry_date, id) > (:afterExpiry, :after)");
+                params.put("afterExpiry", after.expiryDate());
+                params.put("after", after.id());
+            } else if (after != null) {
+                sql.append(" and id > :after");
+                params.put("after", after.id());
+            }
+            if (filter.expiresFrom() != null) {
+                sql.append(" and expiry_date >= :expiresFrom");
+                params.put("expiresFrom", filter.expiresFrom());
+            }
+            if (filter.expiresTo() != null) {
+                sql.append(" and expiry_date < :expiresTo");
+                params.put("expiresTo", filter.expiresTo());
+            }
+            if (StringUtils.hasText(filter.titlePrefix())) {
+                sql.append(" and title like :titlePrefix escape '\\'");
+                params.put("titlePrefix", TaskSpecifications.escapeLike(filter.titlePrefix()) + "%");
+            }
+            sql.append(byExpiry ? " order by expiry_date, id" : " order by id").append(" limit :limit");
+            params.put("limit", pageSize + 1);
+
+            return databaseClient.sql(sql.toString())
+                    .bindValues(params)
+                    .map(DefaultReactiveTaskService::toTaskDto)
+                    .all()
+                    .collectList()
+                    .map(tasks -> toPage(tasks, pageSize, byExpiry));
+        });
+    }
+
+    @Override
+    public Mono<TaskDto> findById(Long ownerId, UUID id) {
+        String cacheKey = TaskCacheKeys.of(ownerId, id);
+        return taskCache.get(cacheKey)
+                .cast(TaskDto.class)
+                .switchIfEmpty(Mono.defer(() -> databaseClient.sql(SELECT_TASKS + " where id = :id and owner_id = :ownerId")
+                        .bind("id", id)
+                        .bind("ownerId", ownerId)
+                        .map(DefaultReactiveTaskService::toTaskDto)
+                        .one()
+                        .flatMap(task -> taskCache.put(cacheKey, task).thenReturn(task))))
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task with id %s not found".formatted(id))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<TaskDto> exportAll(Long ownerId) {
+        return databaseClient.sql(SELECT_TASKS + " where owner_id = :ownerId order by id")
+                .bind("ownerId", ownerId)
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+                .map(DefaultReactiveTaskService::toTaskDto)
+                .all();
+    }
+
+    @Override
+    public Mono<Void> create(Long ownerId, TaskDto task) {
+        Instant now = Instant.now();
+        UUID id = UuidV7.next();
+        return databaseClient.sql("insert into tasks (id, owner_id, title, description, expiry_date, version, "
+                        + "created_at, updated_at) values (:id, :ownerId, :title, :description, :expiryDate, 0, :now, :now)")
+                .bind("id", id)
+                .bind("ownerId", ownerId)
+                .bind("now", now)
+                .bind("title", nullable(task.title(), String.class))
+                .bind("description", nullable(task.description(), String.class))
+                .bind("expiryDate", nullable(task.expiryDate(), Instant.class))
+                .then()
+                .then(eventStream.append(new TaskEvent(TaskEvent.Type.CREATED, ownerId, id,
+                        new TaskDto(id, task.title(), task.description(), task.expiryDate(), 0L))));
+    }
+
+    @Override
+    public Mono<Void> update(Long ownerId, UUID id, TaskDto task, Long expectedVersion) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("id", id);
+        params.put("title", nullable(task.title(), String.class));
+        params.put("description", nullable(task.description(), String.class));
+        params.put("expiryDate", nullable(task.expiryDate(), Instant.class));
+        return updateVersioned("title = :title, description = :description, expiry_date = :expiryDate",
+                params, ownerId, id, expectedVersion)
+                .flatMap(updated -> eventStream.append(new TaskEvent(TaskEvent.Type.UPDATED, ownerId, id, updated)));
+    }
+
+    @Override
+    public Mono<Void> patch(Long ownerId, UUID id, TaskDto changes, Long expectedVersion) {
+        if (!changes.hasChanges()) {
+            return databaseClient.sql("select version from tasks where id = :id and owner_id = :ownerId")
+                    .bind("id", id)
+                    .bind("ownerId", ownerId)
+                    .map(row -> Optional.ofNullable(row.get("version", Long.class)))
+                    .one()
+                    .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task with id %s not found".formatted(id))))
+                    .flatMap(version -> expectedVersion == null || version.filter(expectedVersion::equals).isPresent()
+                            ? Mono.<Void>empty()
+                            : Mono.error(new TaskVersionMismatchException("Task with id %s has been modified".formatted(id))));
+        }
+
+        List<String> assignments = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (changes.title() != null) {
+            assignments.add("title = :title");
+            params.put("title", changes.title());
+        }
+        if (changes.description() != null) {
+            assignments.add("description = :description");
+            params.put("description", changes.description());
+        }
+        if (changes.expiryDate() != null) {
+            assignments.add("expiry_date = :expiryDate");
+            params.put("expiryDate", changes.expiryDate());
+        }
+        params.put("id", id);
+        return updateVersioned(String.join(", ", assignments), params, ownerId, id, expectedVersion)
+                .flatMap(patched -> eventStream.append(new TaskEvent(TaskEvent.Type.PATCHED, ownerId, id,
+                        new TaskDto(id, changes.title(), changes.description(), changes.expiryDate()))));
+    }
+
+    @Override
+    public Mono<Void> delete(Long ownerId, UUID id, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("with deleted as (delete from tasks "
+                        + "where id = :id and owner_id = :ownerId"
+                        + (expectedVersion == null ? "" : " and version = :version") + " returning id, owner_id) "
+                        + "insert into task_tombstones (task_id, owner_id, deleted_at) "
+                        + "select id, owner_id, :deletedAt from deleted")
+                .bind("id", id)
+                .bind("ownerId", ownerId)
+                .bind("deletedAt", Instant.now());
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.fetch()
+                .rowsUpdated()
+                .flatMap(deleted -> {
+                    if (deleted == 0) {
+                        return expectedVersion != null
+                                ? notUpdated(ownerId, id, expectedVersion)
+                                : taskCache.evict(TaskCacheKeys.of(ownerId, id));
+                    }
+                    return taskCache.evict(TaskCacheKeys.of(ownerId, id))
+                            .then(eventStream.append(new TaskEvent(TaskEvent.Type.DELETED, ownerId, id, null)));
+                });
+    }
+
+    private Mono<TaskDto> updateVersioned(String assignments, Map<String, Object> params, Long ownerId, UUID id,
+                                          Long expectedVersion) {
+        String sql = "update tasks set " + assignments
+                + ", version = coalesce(version, -1) + 1, updated_at = :updatedAt where id = :id and owner_id = :ownerId";
+        params.put("updatedAt", Instant.now());
+        params.put("ownerId", ownerId);
+        if (expectedVersion != null) {
+            sql += " and version = :version";
+            params.put("version", expectedVersion);
+        }
+        return databaseClient.sql(sql + " returning id, title, description, expiry_date, version")
+                .bindValues(params)
+                .map(DefaultReactiveTaskService::toTaskDto)
+                .one()
+                .switchIfEmpty(Mono.defer(() -> notUpdated(ownerId, id, expectedVersion)))
+                .flatMap(updated -> taskCache.evict(TaskCacheKeys.of(ownerId, id)).thenReturn(updated));
+    }
+
+    private <T> Mono<T> notUpdated(Long ownerId, UUID id, Long expectedVersion) {
+        Mono<Boolean> exists = expectedVersion == null
+                ? Mono.just(false)
+                : databaseClient.sql("select 1 from tasks where id = :id and owner_id = :ownerId")
+                        .bind("id", id)
+                        .bind("ownerId", ownerId)
+                        .fetch()
+                        .first()
+                        .hasElement();
+        return exists.flatMap(found -> Mono.error(found
+                ? new TaskVersionMismatchException("Task with id %s has been modified".formatted(id))
+                : new TaskNotFoundException("Task with id %s not found".formatted(id))));
+    }
+
+    private static Parameter nullable(Object value, Class<?> type) {
+        return value != null ? Parameters.in(value) : Parameters.in(type);
+    }
+
+    private static TaskPage toPage(List<TaskDto> tasks, int pageSize, boolean byExpiry) {
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(tasks, null);
+        }
+        List<TaskDto> page = tasks.subList(0, pageSize);
+        TaskDto last = page.get(pageSize - 1);
+        TaskCursor next = byExpiry ? new TaskCursor(last.expiryDate(), last.id()) : TaskCursor.of(last.id());
+        return new TaskPage(page, next.encode());
+    }
+
+    private static TaskDto toTaskDto(Readable row) {
+        return new TaskDto(
+                row.get("id", UUID.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("expiry_date", Instant.class),
+                row.get("version", Long.class));
+    }
+}
@@ -1,53 +1,441 @@
 package com.vay.tasktracker.service;
 
+import com.vay.tasktracker.dto.payload.TaskBatchResult;
+import com.vay.tasktracker.dto.payload.TaskChanges;
 import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.dto.payload.TaskPage;
 import com.vay.tasktracker.exception.TaskNotFoundException;
+import com.vay.tasktracker.exception.TaskVersionMismatchException;
+import com.vay.tasktracker.exception.WatermarkExpiredException;
 import com.vay.tasktracker.mapper.TaskMapper;
 import com.vay.tasktracker.model.Task;
+import com.vay.tasktracker.model.TaskTombstone;
+import com.vay.tasktracker.model.User;
 import com.vay.tasktracker.repository.TaskRepository;
+import com.vay.tasktracker.repository.TaskSpecifications;
+import com.vay.tasktracker.repository.TaskTombstoneRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class DefaultTaskService implements TaskService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_TEXT_LENGTH = 255;
+
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final TaskWriteBehindQueue writeBehindQueue;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.tasks.batch-size}")
+    private int batchSize;
+
+    @Value("${app.tasks.write-behind.enabled}")
+    private boolean writeBehind;
+
+    @Value("${app.tasks.sync.settle-time}")
+    private Duration settleTime;
+
+    @Value("${app.tasks.sync.tombstone-retention}")
+    private Duration tombstoneRetention;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage findAll(Long ownerId, TaskFilter filter, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        boolean byExpiry = TaskSpecifications.ordersByExpiry(filter);
+        TaskCursor after = TaskCursor.decode(cursor, byExpiry);
+        List<Task> tasks = taskRepository.findBy(
+                TaskSpecifications.matching(ownerId, filter, after == null ? null : after.expiryDate(),
+                        after == null ? null : after.id()),
+                query -> query.sortBy(byExpiry ? Sort.by("expiryDate", "id") : Sort.by("id"))
+                        .limit(pageSize + 1)
+                        .all());
+
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(taskMapper.toTaskDtoList(tasks), null);
+        }
+        List<Task> page = tasks.subList(0, pageSize);
+        Task last = page.get(pageSize - 1);
+        TaskCursor next = byExpiry ? new TaskCursor(last.getExpiryDate(), last.getId()) : TaskCursor.of(last.getId());
+        return new TaskPage(taskMapper.toTaskDtoList(page), next.encode());
+    }
 
     @Override
-    public List<TaskDto> findAll() {
-        return taskMapper.toTaskDtoList(taskRepository.findAll());
+    @Transactional(readOnly = true)
+    public Instant lastModified(Long ownerId) {
+        Instant settled = Instant.now().minus(settleTime).truncatedTo(ChronoUnit.SECONDS);
+        return Stream.of(taskRepository.findLastUpdatedAt(ownerId), tombstoneRepository.findLastDeletedAt(ownerId))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .filter(lastModified -> lastModified.isBefore(settled))
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChanges findChanges(Long ownerId, String since, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        TaskWatermark from = TaskWatermark.decode(since);
+        Instant now = Instant.now();
+        if (from != null && from.timestamp().isBefore(now.minus(tombstoneRetention))) {
+            throw new WatermarkExpiredException("Watermark is older than the tombstone retention, a full resync is required");
+        }
+
+        Instant until = now.minus(settleTime);
+        Instant sinceTimestamp = from == null ? Instant.EPOCH : from.timestamp();
+        UUID afterId = from == null ? TaskWatermark.MIN_ID : from.id();
+        List<Task> tasks = taskRepository.findChangedSince(ownerId, sinceTimestamp, afterId, until, Limit.of(pageSize + 1));
+        List<TaskTombstone> tombstones = from == null ? List.of()
+                : tombstoneRepository.findDeletedSince(ownerId, sinceTimestamp, afterId, until, Limit.of(pageSize + 1));
+
+        List<Task> updated = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        TaskWatermark last = null;
+        int t = 0;
+        int d = 0;
+        while (updated.size() + deleted.size() < pageSize && (t < tasks.size() || d < tombstones.size())) {
+            TaskWatermark nextTask = t < tasks.size()
+                    ? new TaskWatermark(tasks.get(t).getUpdatedAt(), tasks.get(t).getId()) : null;
+            TaskWatermark nextTombstone = d < tombstones.size()
+                    ? new TaskWatermark(tombstones.get(d).getDeletedAt(), tombstones.get(d).getTaskId()) : null;
+            if (nextTombstone == null || (nextTask != null && TaskWatermark.ORDER.compare(nextTask, nextTombstone) < 0)) {
+                updated.add(tasks.get(t++));
+                last = nextTask;
+            } else {
+                deleted.add(tombstones.get(d++).getTaskId());
+                last = nextTombstone;
+            }
+        }
+
+        boolean hasMore = t < tasks.size() || d < tombstones.size();
+        if (!hasMore) {
+            TaskWatermark settled = new TaskWatermark(until, TaskWatermark.MAX_ID);
+            last = from != null && TaskWatermark.ORDER.compare(from, settled) > 0 ? from : settled;
+        }
+        return new TaskChanges(taskMapper.toTaskDtoList(updated), deleted, last.encode(), hasMore);
     }
 
     @Override
-    public TaskDto findById(UUID id) {
-        return taskMapper.toTaskDto(taskRepository.findById(id)
+    @Cacheable(value = "tasks", key = "#ownerId + ':' + #id", sync = true)
+    public TaskDto findById(Long ownerId, UUID id) {
+        return taskMapper.toTaskDto(taskRepository.findByIdAndOwnerId(id, ownerId)
                 .orElseThrow(() -> new TaskNotFoundException("Task with id %s not found".formatted(id))));
     }
 
     @Override
-    public void create(TaskDto task) {
+    @Transactional(readOnly = true)
+    public void exportAll(Long ownerId, Consumer<TaskDto> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAllByOwnerId(ownerId)) {
+            tasks.forEach(task -> {
+                consumer.accept(taskMapper.toTaskDto(task));
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    @Override
+    public void create(Long ownerId, TaskDto task) {
         Task entity = taskMapper.toEntity(task);
-        taskRepository.save(entity);
+        entity.setOwner(entityManager.getReference(User.class, ownerId));
+        Task saved = taskRepository.save(entity);
+        eventPublisher.publishEvent(new TaskEvent(TaskEvent.Type.CREATED, ownerId, saved.getId(),
+                taskMapper.toTaskDto(saved)));
+    }
+
+    @Override
+    public void update(Long ownerId, UUID id, TaskDto updatedTask, Long expectedVersion) {
+        Cache cache = cacheManager.getCache("tasks");
+        String cacheKey = TaskCacheKeys.of(ownerId, id);
+        if (writeBehind) {
+            enqueueUpdate(ownerId, id, updatedTask, expectedVersion, cache);
+            return;
+        }
+
+        Task task = taskRepository.findByIdAndOwnerId(id, ownerId)
+                .orElseThrow(() -> new TaskNotFoundException("Task with id %s not found".formatted(id)));
+        checkVersion(id, task.getVersion(), expectedVersion);
+        applyChanges(task, updatedTask);
+        Task saved;
+        try {
+            saved = taskRepository.save(task);
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw new TaskVersionMismatchException("Task with id %s has been modified".formatted(id));
+            }
+            throw e;
+        }
+        if (cache != null) {
+            cache.evict(cacheKey);
+        }
+        eventPublisher.publishEvent(new TaskEvent(TaskEvent.Type.UPDATED, ownerId, id, taskMapper.toTaskDto(saved)));
+    }
+
+    @Override
+    public void patch(Long ownerId, UUID id, TaskDto changes, Long expectedVersion) {
+        Cache cache = cacheManager.getCache("tasks");
+        String cacheKey = TaskCacheKeys.of(ownerId, id);
+        if (!changes.hasChanges()) {
+            currentState(ownerId, id, cache, expectedVersion);
+            return;
+        }
+        if (writeBehind) {
+            TaskDto current = currentState(ownerId, id, cache, expectedVersion);
+            TaskDto queued = new TaskDto(id, changes.title(), changes.description(), changes.expiryDate(),
+                    nextVersion(current));
+            writeBehindQueue.enqueue(ownerId, id, queued, current.version(), true);
+            if (cache != null) {
+                cache.put(cacheKey, current.merge(queued));
+            }
+            eventPublisher.publishEvent(new TaskEvent(TaskEvent.Type.PATCHED, ownerId, id, queued));
+            return;
+        }
+
+        if (taskRepository.patch(id, ownerId, changes, expectedVersion) == 0) {
+            throw notUpdated(ownerId, id, expectedVersion);
+        }
+        if (cache != null) {
+            cache.evict(cacheKey);
+        }
+        eventPublisher.publishEvent(new TaskEvent(TaskEvent.Type.PATCHED, ownerId, id,
+                new TaskDto(id, changes.title(), changes.description(), changes.expiryDate())));
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "tasks", key = "#ownerId + ':' + #id")
+    public void delete(Long ownerId, UUID id, Long expectedVersion) {
+        int deleted;
+        if (expectedVersion == null) {
+            deleted = taskRepository.removeByIdAndOwnerId(id, ownerId);
+        } else if (writeBehind) {
+            currentState(ownerId, id, cacheManager.getCache("tasks"), expectedVersion);
+            deleted = taskRepository.removeByIdAndOwnerId(id, ownerId);
+        } else {
+            deleted = taskRepository.deleteByIdAndOwnerIdAndVersion(id, ownerId, expectedVersion);
+            if (deleted == 0) {
+                throw notUpdated(ownerId, id, expectedVersion);
+            }
+        }
+        if (deleted > 0) {
+            entityManager.persist(new TaskTombstone(id, ownerId, Instant.now()));
+            eventPublisher.publishEvent(new TaskEvent(TaskEvent.Type.DELETED, ownerId, id, null));
+        }
     }
 
     @Override
-    public void update(UUID id, TaskDto updatedTask) {
-        taskRepository.findById(id).ifPresentOrElse(task -> {
-            task.setTitle(updatedTask.title());
-            task.setDescription(updatedTask.description());
-            task.setExpiryDate(updatedTask.expiryDate());
-            taskRepository.save(task);
-        }, () -> {
-            throw new TaskNotFoundException("Task with id %s not found".formatted(id));
-        });
+    @Transactional
+    public List<TaskBatchResult> createAll(Long ownerId, List<TaskDto> tasks) {
+        User owner = entityManager.getReference(User.class, ownerId);
+        List<TaskBatchResult> results = new ArrayList<>(tasks.size());
+        List<Task> created = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskDto dto = tasks.get(i);
+            if (!isCreatable(dto)) {
+                results.add(new TaskBatchResult(i, null, TaskBatchResult.Status.INVALID));
+                continue;
+            }
+            Task entity = taskMapper.toEntity(dto);
+            entity.setOwner(owner);
+            Task saved = taskRepository.save(entity);
+            created.add(saved);
+            results.add(new TaskBatchResult(i, saved.getId(), TaskBatchResult.Status.CREATED));
+            if (created.size() % batchSize == 0) {
+                flushAndClear();
+            }
+        }
+        created.forEach(task -> eventPublisher.publishEvent(
+                new TaskEvent(TaskEvent.Type.CREATED, ownerId, task.getId(), taskMapper.toTaskDto(task))));
+        return results;
     }
 
     @Override
-    public void delete(UUID id) {
-        taskRepository.deleteById(id);
+    @Transactional
+    public List<TaskBatchResult> updateAll(Long ownerId, List<TaskDto> tasks) {
+        if (writeBehind) {
+            return enqueueAll(ownerId, tasks);
+        }
+        List<TaskBatchResult> results = new ArrayList<>(tasks.size());
+        for (int from = 0; from < tasks.size(); from += batchSize) {
+            List<TaskDto> chunk = tasks.subList(from, Math.min(from + batchSize, tasks.size()));
+            Map<UUID, Task> found = taskRepository.findAllByOwnerIdAndIdIn(ownerId, chunk.stream()
+                            .map(TaskDto::id)
+                            .filter(Objects::nonNull)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            List<Task> updated = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                TaskDto dto = chunk.get(i);
+                Task task = dto.id() == null ? null : found.get(dto.id());
+                if (task == null) {
+                    results.add(new TaskBatchResult(from + i, dto.id(), dto.id() == null
+                            ? TaskBatchResult.Status.INVALID
+                            : TaskBatchResult.Status.NOT_FOUND));
+                    continue;
+                }
+                applyChanges(task, dto);
+                updated.add(task);
+                results.add(new TaskBatchResult(from + i, dto.id(), TaskBatchResult.Status.UPDATED));
+            }
+            flushAndClear();
+            updated.forEach(task -> eventPublisher.publishEvent(
+                    new TaskEvent(TaskEvent.Type.UPDATED, ownerId, task.getId(), taskMapper.toTaskDto(task))));
+        }
+        evictCached(ownerId, results, TaskBatchResult.Status.UPDATED);
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<TaskBatchResult> deleteAll(Long ownerId, List<UUID> ids) {
+        List<TaskBatchResult> results = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            Set<UUID> existing = new HashSet<>(taskRepository.findExistingIds(ownerId, chunk.stream()
+                    .filter(Objects::nonNull)
+                    .toList()));
+            if (!existing.isEmpty()) {
+                taskRepository.deleteAllByIdInBatch(existing);
+                Instant deletedAt = Instant.now();
+                existing.forEach(id -> {
+                    entityManager.persist(new TaskTombstone(id, ownerId, deletedAt));
+                    eventPublisher.publishEvent(new TaskEvent(TaskEvent.Type.DELETED, ownerId, id, null));
+                });
+            }
+
+            for (int i = 0; i < chunk.size(); i++) {
+                UUID id = chunk.get(i);
+                TaskBatchResult.Status status = id == null ? TaskBatchResult.Status.INVALID
+                        : existing.contains(id) ? TaskBatchResult.Status.DELETED
+                        : TaskBatchResult.Status.NOT_FOUND;
+                results.add(new TaskBatchResult(from + i, id, status));
+            }
+        }
+        evictCached(ownerId, results, TaskBatchResult.Status.DELETED);
+        return results;
+    }
+
+    private List<TaskBatchResult> enqueueAll(Long ownerId, List<TaskDto> tasks) {
+        Cache cache = cacheManager.getCache("tasks");
+        List<TaskBatchResult> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskDto dto = tasks.get(i);
+            if (dto.id() == null) {
+                results.add(new TaskBatchResult(i, null, TaskBatchResult.Status.INVALID));
+                continue;
+            }
+            try {
+                enqueueUpdate(ownerId, dto.id(), dto, null, cache);
+                results.add(new TaskBatchResult(i, dto.id(), TaskBatchResult.Status.UPDATED));
+            } catch (TaskNotFoundException e) {
+                results.add(new TaskBatchResult(i, dto.id(), TaskBatchResult.Status.NOT_FOUND));
+            }
+        }
+        return results;
+    }
+
+    private void enqueueUpdate(Long ownerId, UUID id, TaskDto updatedTask, Long expectedVersion, Cache cache) {
+        TaskDto current = currentState(ownerId, id, cache, expectedVersion);
+        TaskDto task = new TaskDto(id, updatedTask.title(), updatedTask.description(), updatedTask.expiryDate(),
+                nextVersion(current));
+        writeBehindQueue.enqueue(ownerId, id, task, current.version(), false);
+        if (cache != null) {
+            cache.put(TaskCacheKeys.of(ownerId, id), task);
+        }
+        eventPublisher.publishEvent(new TaskEvent(TaskEvent.Type.UPDATED, ownerId, id, task));
+    }
+
+    private TaskDto currentState(Long ownerId, UUID id, Cache cache, Long expectedVersion) {
+        TaskDto current = cache == null ? null : cache.get(TaskCacheKeys.of(ownerId, id), TaskDto.class);
+        if (current == null) {
+            current = taskRepository.findByIdAndOwnerId(id, ownerId)
+                    .map(taskMapper::toTaskDto)
+                    .orElseThrow(() -> new TaskNotFoundException("Task with id %s not found".formatted(id)));
+        }
+        checkVersion(id, current.version(), expectedVersion);
+        return current;
+    }
+
+    private static boolean isCreatable(TaskDto task) {
+        return task != null && fitsColumn(task.title()) && fitsColumn(task.description());
+    }
+
+    private static boolean fitsColumn(String value) {
+        return value == null || value.length() <= MAX_TEXT_LENGTH;
+    }
+
+    private static Long nextVersion(TaskDto current) {
+        return current.version() == null ? 0L : current.version() + 1;
+    }
+
+    private static void checkVersion(UUID id, Long actualVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(actualVersion)) {
+            throw new TaskVersionMismatchException("Task with id %s has been modified".formatted(id));
+        }
+    }
+
+    private RuntimeException notUpdated(Long ownerId, UUID id, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsByIdAndOwnerId(id, ownerId)) {
+            return new TaskVersionMismatchException("Task with id %s has been modified".formatted(id));
+        }
+        return new TaskNotFoundException("Task with id %s not found".formatted(id));
+    }
+
+    private void applyChanges(Task task, TaskDto changes) {
+        task.setTitle(changes.title());
+        task.setDescription(changes.description());
+        task.setExpiryDate(changes.expiryDate());
+    }
+
+    private void evictCached(Long ownerId, List<TaskBatchResult> results, TaskBatchResult.Status status) {
+        Cache cache = cacheManager.getCache("tasks");
+        if (cache == null) {
+            return;
+        }
+        results.stream()
+                .filter(result -> result.status() == status)
+                .forEach(result -> cache.evict(TaskCacheKeys.of(ownerId, result.id())));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
     }
 }
@@ -0,0 +1,62 @@
+package com.vay.tasktracker.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class LeaderLock {
+
+    private static final String KEY_PREFIX = "task_tracker:leader:";
+
+    private static final RedisScript<Boolean> ACQUIRE_SCRIPT = RedisScript.of("""
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return 1
+            end
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return 1
+            end
+            return 0
+            """, Boolean.class);
+
+    private static final RedisScript<Long> FENCED_ACQUIRE_SCRIPT = RedisScript.of("""
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) or redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return redis.call('INCR', KEYS[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Boolean> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                return 1
+            end
+            return 0
+            """, Boolean.class);
+
+    private final String owner = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+
+    public boolean tryAcquire(String name, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.execute(ACQUIRE_SCRIPT, List.of(KEY_PREFIX + name),
+                owner, String.valueOf(ttl.toMillis())));
+    }
+
+    public long tryAcquireFenced(String name, Duration ttl) {
+        Long token = redisTemplate.execute(FENCED_ACQUIRE_SCRIPT, List.of(KEY_PREFIX + name, KEY_PREFIX + name + ":fence"),
+                owner, String.valueOf(ttl.toMillis()));
+        return token == null ? 0 : token;
+    }
+
+    public void release(String name) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + name), owner);
+    }
+}
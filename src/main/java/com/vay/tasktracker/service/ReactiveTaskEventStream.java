@@ -0,0 +1,42 @@
+package com.vay.tasktracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskEventStream {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.tasks.events.stream-length}")
+    private long streamLength;
+
+    @Value("${app.tasks.events.retention}")
+    private Duration retention;
+
+    public Mono<Void> append(TaskEvent event) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(event))
+                .flatMap(data -> redisTemplate.execute(TaskEventStream.APPEND_SCRIPT,
+                                List.of(TaskEventStream.STREAM_KEY_PREFIX + event.ownerId()),
+                                TaskEventStream.appendArgs(event, data, streamLength, retention))
+                        .then())
+                .onErrorResume(e -> {
+                    log.warn("Could not publish {} event for task {}: {}", event.type(), event.id(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
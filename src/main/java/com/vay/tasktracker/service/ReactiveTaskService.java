@@ -0,0 +1,25 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.dto.payload.TaskPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveTaskService {
+    Mono<TaskPage> findAll(Long ownerId, TaskFilter filter, String cursor, int limit);
+
+    Mono<TaskDto> findById(Long ownerId, UUID id);
+
+    Flux<TaskDto> exportAll(Long ownerId);
+
+    Mono<Void> create(Long ownerId, TaskDto task);
+
+    Mono<Void> update(Long ownerId, UUID id, TaskDto task, Long expectedVersion);
+
+    Mono<Void> patch(Long ownerId, UUID id, TaskDto changes, Long expectedVersion);
+
+    Mono<Void> delete(Long ownerId, UUID id, Long expectedVersion);
+}
@@ -0,0 +1,13 @@
+package com.vay.tasktracker.service;
+
+import java.util.UUID;
+
+final class TaskCacheKeys {
+
+    private TaskCacheKeys() {
+    }
+
+    static String of(Long ownerId, UUID id) {
+        return ownerId + ":" + id;
+    }
+}
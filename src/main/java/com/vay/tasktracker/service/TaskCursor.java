@@ -0,0 +1,44 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.exception.InvalidCursorException;
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+record TaskCursor(Instant expiryDate, UUID id) {
+
+    static TaskCursor of(UUID id) {
+        return new TaskCursor(null, id);
+    }
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(expiryDate == null ? 16 : 24);
+        if (expiryDate != null) {
+            buffer.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, expiryDate));
+        }
+        buffer.putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static TaskCursor decode(String cursor, boolean byExpiry) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != (byExpiry ? 24 : 16)) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            Instant expiryDate = byExpiry ? Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS) : null;
+            return new TaskCursor(expiryDate, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.vay.tasktracker.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TaskEventBroadcaster {
+
+    static final String RESET_EVENT = "RESET";
+
+    private final TaskEventStream eventStream;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${app.tasks.events.timeout}")
+    private Duration timeout;
+
+    @Value("${app.tasks.events.replay-limit}")
+    private int replayLimit;
+
+    @Value("${app.tasks.events.buffer-size}")
+    private int bufferSize;
+
+    @Value("${app.tasks.events.send-timeout}")
+    private Duration sendTimeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.tasks.events.heartbeat-interval}")
+    private Duration heartbeatInterval;
+
+    private Executor sendExecutor;
+    private ScheduledExecutorService heartbeatExecutor;
+
+    @PostConstruct
+    void listen() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("task-events-send-");
+        executor.setVirtualThreads(virtualThreads);
+        sendExecutor = executor;
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("task-events-heartbeat-"));
+        heartbeatExecutor.scheduleAtFixedRate(this::heartbeat, heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        heartbeatExecutor.scheduleAtFixedRate(this::expireStalledSends, sendTimeout.toMillis(),
+                sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        listenerContainer.addMessageListener(
+                (message, pattern) -> broadcast(TaskEventStream.parse(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(TaskEventStream.CHANNEL));
+    }
+
+    public SseEmitter subscribe(Long ownerId, String lastEventId) {
+        return subscribe(ownerId, lastEventId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long ownerId, String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(ownerId, emitter, lastEventId);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        subscribers.compute(ownerId, (owner, owned) -> {
+            Set<Subscriber> updated = owned == null ? ConcurrentHashMap.newKeySet() : owned;
+            updated.add(subscriber);
+            return updated;
+        });
+
+        if (lastEventId == null || lastEventId.isBlank()) {
+            subscriber.resume(List.of(), false);
+            return emitter;
+        }
+        Optional<List<TaskEventStream.Entry>> replay = eventStream.readAfter(ownerId, lastEventId, replayLimit + 1);
+        boolean reset = replay.isEmpty() || replay.get().size() > replayLimit;
+        subscriber.resume(reset ? List.of() : replay.get(), reset);
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    void broadcast(TaskEventStream.Entry entry) {
+        subscribers.getOrDefault(entry.ownerId(), Set.of()).forEach(subscriber -> subscriber.deliver(entry));
+    }
+
+    void heartbeat() {
+        subscribers.values().forEach(owned -> owned.forEach(Subscriber::heartbeat));
+    }
+
+    void expireStalledSends() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(owned -> owned.forEach(subscriber -> subscriber.expireIfStalled(now)));
+    }
+
+    @PreDestroy
+    public void close() {
+        heartbeatExecutor.shutdownNow();
+        subscribers.values().forEach(owned -> owned.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.ownerId, (owner, owned) -> {
+            owned.remove(subscriber);
+            return owned.isEmpty() ? null : owned;
+        });
+    }
+
+    private void drain(Subscriber subscriber) {
+        SseEmitter.SseEventBuilder event;
+        while ((event = subscriber.next()) != null) {
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping task event subscriber: {}", e.getMessage());
+                subscriber.drop();
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        }
+        if (subscriber.isDropped()) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private final class Subscriber {
+        private final Long ownerId;
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> outbound = new ArrayDeque<>();
+        private String lastEventId;
+        private List<TaskEventStream.Entry> backlog = new ArrayList<>();
+        private boolean draining;
+        private boolean dropped;
+        private Thread sender;
+        private long sendStartedAt;
+
+        private Subscriber(Long ownerId, SseEmitter emitter, String lastEventId) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+            this.lastEventId = lastEventId == null || lastEventId.isBlank() ? null : lastEventId;
+        }
+
+        synchronized void deliver(TaskEventStream.Entry entry) {
+            if (dropped) {
+                return;
+            }
+            if (backlog != null) {
+                backlog.add(entry);
+                return;
+            }
+            if (outbound.size() >= bufferSize) {
+                log.debug("Dropping task event subscriber of owner {}: {} events pending", ownerId, outbound.size());
+                drop();
+                schedule();
+                return;
+            }
+            enqueue(entry);
+        }
+
+        synchronized void resume(List<TaskEventStream.Entry> replay, boolean reset) {
+            if (reset) {
+                outbound.add(SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON));
+                lastEventId = null;
+            }
+            replay.forEach(this::enqueue);
+            List<TaskEventStream.Entry> pending = backlog;
+            backlog = null;
+            for (TaskEventStream.Entry entry : pending) {
+                if (lastEventId == null || entry.isAfter(lastEventId)) {
+                    enqueue(entry);
+                }
+            }
+            schedule();
+        }
+
+        synchronized void heartbeat() {
+            if (backlog == null && outbound.isEmpty() && !dropped) {
+                outbound.add(SseEmitter.event().comment("heartbeat"));
+                schedule();
+            }
+        }
+
+        synchronized SseEmitter.SseEventBuilder next() {
+            SseEmitter.SseEventBuilder event = dropped ? null : outbound.poll();
+            if (event == null) {
+                draining = false;
+                sender = null;
+            } else {
+                sender = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+            return event;
+        }
+
+        synchronized void expireIfStalled(long now) {
+            if (sender != null && now - sendStartedAt > sendTimeout.toNanos()) {
+                log.debug("Dropping task event subscriber of owner {}: send pending for more than {}", ownerId,
+                        sendTimeout);
+                drop();
+                sender.interrupt();
+            }
+        }
+
+        synchronized void drop() {
+            dropped = true;
+            outbound.clear();
+            remove(this);
+        }
+
+        synchronized boolean isDropped() {
+            return dropped;
+        }
+
+        private void enqueue(TaskEventStream.Entry entry) {
+            outbound.add(SseEmitter.event()
+                    .id(entry.id())
+                    .name(entry.type())
+                    .data(entry.data(), MediaType.APPLICATION_JSON));
+            lastEventId = entry.id();
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining) {
+                return;
+            }
+            draining = true;
+            try {
+                sendExecutor.execute(() -> drain(this));
+            } catch (RejectedExecutionException e) {
+                draining = false;
+                drop();
+            }
+        }
+    }
+}
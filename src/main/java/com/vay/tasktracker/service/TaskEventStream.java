@@ -0,0 +1,112 @@
+package com.vay.tasktracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TaskEventStream {
+
+    static final String STREAM_KEY_PREFIX = "task_tracker:task-events:";
+    static final String CHANNEL = "task_tracker:task-events";
+
+    private static final String SEPARATOR = "|";
+    private static final Pattern EVENT_ID = Pattern.compile("\\d+-\\d+");
+
+    static final RedisScript<String> APPEND_SCRIPT = RedisScript.of("""
+            local eventId = redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', 'type', ARGV[2], 'data', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[7])
+            redis.call('PUBLISH', ARGV[4], ARGV[6] .. ARGV[5] .. eventId .. ARGV[5] .. ARGV[2] .. ARGV[5] .. ARGV[3])
+            return eventId
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.tasks.events.stream-length}")
+    private long streamLength;
+
+    @Value("${app.tasks.events.retention}")
+    private Duration retention;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void append(TaskEvent event) {
+        try {
+            redisTemplate.execute(APPEND_SCRIPT, List.of(STREAM_KEY_PREFIX + event.ownerId()),
+                    appendArgs(event, objectMapper.writeValueAsString(event), streamLength, retention).toArray());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not publish {} event for task {}: {}", event.type(), event.id(), e.getMessage());
+        }
+    }
+
+    public Optional<List<Entry>> readAfter(Long ownerId, String lastEventId, int count) {
+        if (!EVENT_ID.matcher(lastEventId).matches()) {
+            return Optional.empty();
+        }
+        List<MapRecord<String, Object, Object>> anchor = redisTemplate.opsForStream()
+                .range(STREAM_KEY_PREFIX + ownerId, Range.closed(lastEventId, lastEventId));
+        if (anchor == null || anchor.isEmpty()) {
+            return Optional.empty();
+        }
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(STREAM_KEY_PREFIX + ownerId, Range.of(Range.Bound.exclusive(lastEventId), Range.Bound.unbounded()),
+                        Limit.limit().count(count));
+        if (records == null) {
+            return Optional.of(List.of());
+        }
+        return Optional.of(records.stream()
+                .map(record -> new Entry(ownerId, record.getId().getValue(), (String) record.getValue().get("type"),
+                        (String) record.getValue().get("data")))
+                .toList());
+    }
+
+    static List<String> appendArgs(TaskEvent event, String data, long streamLength, Duration retention) {
+        return List.of(String.valueOf(streamLength), event.type().name(), data, CHANNEL, SEPARATOR,
+                String.valueOf(event.ownerId()), String.valueOf(retention.toMillis()));
+    }
+
+    static Entry parse(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 4);
+        if (parts.length < 4) {
+            throw new IllegalArgumentException("Malformed task event message");
+        }
+        return new Entry(Long.valueOf(parts[0]), parts[1], parts[2], parts[3]);
+    }
+
+    public record Entry(Long ownerId, String id, String type, String data) {
+
+        boolean isAfter(String eventId) {
+            return compare(id, eventId) > 0;
+        }
+
+        private static int compare(String left, String right) {
+            int leftDash = left.indexOf('-');
+            int rightDash = right.indexOf('-');
+            int result = Long.compare(Long.parseLong(left, 0, leftDash, 10), Long.parseLong(right, 0, rightDash, 10));
+            if (result != 0) {
+                return result;
+            }
+            return Long.compare(Long.parseLong(left, leftDash + 1, left.length(), 10),
+                    Long.parseLong(right, rightDash + 1, right.length(), 10));
+        }
+    }
+}
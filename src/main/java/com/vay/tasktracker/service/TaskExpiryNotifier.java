@@ -0,0 +1,210 @@
+package com.vay.tasktracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import com.vay.tasktracker.repository.TaskExpiry;
+import com.vay.tasktracker.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.tasks.expiry-notifications.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TaskExpiryNotifier {
+
+    private static final String CLAIM_KEY_PREFIX = "task_tracker:task-expired:";
+    private static final byte[] CLAIM_VALUE = "1".getBytes(StandardCharsets.UTF_8);
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final TaskRepository taskRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.tasks.expiry-notifications.tick}")
+    private Duration tick;
+
+    @Value("${app.tasks.expiry-notifications.horizon}")
+    private Duration horizon;
+
+    @Value("${app.tasks.expiry-notifications.batch-size}")
+    private int batchSize;
+
+    @Value("${app.tasks.expiry-notifications.claim-ttl}")
+    private Duration claimTtl;
+
+    @Value("${app.tasks.expiry-notifications.grace}")
+    private Duration grace;
+
+    private TaskExpiryWheel wheel;
+    private Counter notifiedCounter;
+    private volatile Instant loadedUntil;
+
+    @PostConstruct
+    void init() {
+        wheel = new TaskExpiryWheel(tick.toMillis(), WHEEL_BITS, WHEEL_LEVELS, System.currentTimeMillis(),
+                INITIAL_CAPACITY);
+        if (grace.compareTo(claimTtl) > 0) {
+            throw new IllegalStateException("Expiry notification grace %s must not exceed the claim TTL %s"
+                    .formatted(grace, claimTtl));
+        }
+        loadedUntil = Instant.now().minus(grace);
+        Gauge.builder("tasks.expiry.scheduled", wheel, TaskExpiryWheel::size)
+                .description("Upcoming task expiries held in memory")
+                .register(meterRegistry);
+        notifiedCounter = Counter.builder("tasks.expiry.notified")
+                .description("Task expiry notifications emitted by this node")
+                .register(meterRegistry);
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(TaskEventStream.CHANNEL));
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.expiry-notifications.load-interval}")
+    public void load() {
+        Instant until = Instant.now().plus(horizon);
+        Instant afterExpiry = loadedUntil;
+        if (!until.isAfter(afterExpiry)) {
+            return;
+        }
+        loadedUntil = until;
+
+        UUID afterId = TaskWatermark.MIN_ID;
+        int loaded = 0;
+        List<TaskExpiry> page;
+        do {
+            page = taskRepository.findExpiringBefore(afterExpiry, afterId, until, Limit.of(batchSize));
+            page.forEach(task -> wheel.scheduleIfAbsent(task.id(), task.ownerId(), task.expiryDate().toEpochMilli()));
+            if (!page.isEmpty()) {
+                TaskExpiry last = page.get(page.size() - 1);
+                afterExpiry = last.expiryDate();
+                afterId = last.id();
+            }
+            loaded += page.size();
+        } while (page.size() == batchSize);
+        log.debug("Loaded {} task expiries up to {}", loaded, until);
+    }
+
+    void onMessage(String message) {
+        try {
+            TaskEventStream.Entry entry = TaskEventStream.parse(message);
+            TaskEvent event = objectMapper.readValue(entry.data(), TaskEvent.class);
+            onTaskEvent(new TaskEvent(event.type(), entry.ownerId(), event.id(), event.task()));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Ignoring malformed task event message: {}", e.getMessage());
+        }
+    }
+
+    void onTaskEvent(TaskEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED, PATCHED -> track(event);
+            case DELETED -> wheel.cancel(event.id());
+            default -> {
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.tasks.expiry-notifications.tick}")
+    public void tick() {
+        List<TaskExpiryWheel.Expiry> expired = wheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+        try {
+            List<TaskExpiryWheel.Expiry> claimed = claim(verify(expired));
+            claimed.forEach(expiry -> eventPublisher.publishEvent(
+                    new TaskEvent(TaskEvent.Type.EXPIRED, expiry.ownerId(), expiry.id(), null)));
+            notifiedCounter.increment(claimed.size());
+            log.debug("Notified {} of {} due task expiries", claimed.size(), expired.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not notify {} task expiries: {}", expired.size(), e.getMessage());
+        }
+    }
+
+    private void track(TaskEvent event) {
+        Instant expiry = event.task() == null ? null : event.task().expiryDate();
+        if (expiry == null) {
+            if (event.type() != TaskEvent.Type.PATCHED) {
+                wheel.cancel(event.id());
+            }
+        } else if (expiry.isBefore(loadedUntil)) {
+            wheel.schedule(event.id(), event.ownerId(), expiry.toEpochMilli());
+        } else {
+            wheel.cancel(event.id());
+        }
+    }
+
+    private List<TaskExpiryWheel.Expiry> verify(List<TaskExpiryWheel.Expiry> expired) {
+        List<TaskExpiryWheel.Expiry> due = new ArrayList<>();
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<TaskExpiryWheel.Expiry> chunk = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            Map<UUID, TaskExpiry> current = taskRepository.findExpiriesByIdIn(
+                            chunk.stream().map(TaskExpiryWheel.Expiry::id).toList()).stream()
+                    .collect(Collectors.toMap(TaskExpiry::id, Function.identity()));
+            for (TaskExpiryWheel.Expiry expiry : chunk) {
+                TaskExpiry task = current.get(expiry.id());
+                if (task == null || task.expiryDate() == null) {
+                    continue;
+                }
+                long deadline = task.expiryDate().toEpochMilli();
+                if (deadline == expiry.deadlineMillis()) {
+                    due.add(expiry);
+                } else if (task.expiryDate().isBefore(loadedUntil)) {
+                    wheel.schedule(task.id(), task.ownerId(), deadline);
+                }
+            }
+        }
+        return due;
+    }
+
+    private List<TaskExpiryWheel.Expiry> claim(List<TaskExpiryWheel.Expiry> due) {
+        if (due.isEmpty()) {
+            return due;
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            due.forEach(expiry -> connection.stringCommands().set(
+                    (CLAIM_KEY_PREFIX + expiry.id() + ":" + expiry.deadlineMillis()).getBytes(StandardCharsets.UTF_8),
+                    CLAIM_VALUE, Expiration.from(claimTtl), RedisStringCommands.SetOption.ifAbsent()));
+            return null;
+        });
+        return IntStream.range(0, due.size())
+                .filter(i -> Boolean.TRUE.equals(results.get(i)))
+                .mapToObj(due::get)
+                .toList();
+    }
+}
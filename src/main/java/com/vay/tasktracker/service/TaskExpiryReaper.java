@@ -0,0 +1,149 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.tasks.reaper.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TaskExpiryReaper {
+
+    private static final String LOCK_NAME = "task-expiry-reaper";
+
+    private static final String REAP_SQL = """
+            with expired as (
+                select id, expiry_date from tasks
+                where expiry_date < ?
+                order by expiry_date, id
+                limit ?
+                for update skip locked
+            ), deleted as (
+                delete from tasks t using expired e
+                where t.id = e.id and t.expiry_date = e.expiry_date
+                returning t.id, t.owner_id
+            ), tombstones as (
+                insert into task_tombstones (task_id, owner_id, deleted_at)
+                select id, owner_id, now() from deleted
+                on conflict (task_id) do update set owner_id = excluded.owner_id, deleted_at = excluded.deleted_at
+            )
+            select id, owner_id from deleted
+            """;
+    private static final String OLDEST_EXPIRED_SQL = "select min(expiry_date) from tasks where expiry_date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderLock leaderLock;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private Counter reapedCounter;
+
+    @Value("${app.tasks.reaper.grace}")
+    private Duration grace;
+
+    @Value("${app.tasks.reaper.batch-size}")
+    private int batchSize;
+
+    @Value("${app.tasks.reaper.max-rows-per-second}")
+    private int maxRowsPerSecond;
+
+    @Value("${app.tasks.reaper.lock-ttl}")
+    private Duration lockTtl;
+
+    @PostConstruct
+    void registerMetrics() {
+        reapedCounter = Counter.builder("tasks.reaper.reaped")
+                .description("Expired tasks deleted by the reaper")
+                .register(meterRegistry);
+        TimeGauge.builder("tasks.reaper.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("How long the oldest reapable task has been waiting")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.reaper.interval}")
+    public void reap() {
+        Instant cutoff = Instant.now().minus(grace);
+        try {
+            while (leaderLock.tryAcquire(LOCK_NAME, lockTtl)) {
+                long started = System.nanoTime();
+                int reaped = reapBatch(cutoff);
+                if (reaped < batchSize) {
+                    break;
+                }
+                throttle(reaped, started);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        updateLag();
+    }
+
+    @PreDestroy
+    public void stop() {
+        leaderLock.release(LOCK_NAME);
+    }
+
+    int reapBatch(Instant cutoff) {
+        List<ReapedTask> reaped = transactionTemplate.execute(status -> {
+            List<ReapedTask> rows = jdbcTemplate.query(REAP_SQL,
+                    (rs, rowNum) -> new ReapedTask(rs.getObject("id", UUID.class), rs.getLong("owner_id")),
+                    Timestamp.from(cutoff), batchSize);
+            rows.forEach(task -> eventPublisher.publishEvent(
+                    new TaskEvent(TaskEvent.Type.DELETED, task.ownerId(), task.id(), null)));
+            return rows;
+        });
+        if (reaped == null || reaped.isEmpty()) {
+            return 0;
+        }
+
+        Cache cache = cacheManager.getCache("tasks");
+        if (cache != null) {
+            reaped.forEach(task -> cache.evict(TaskCacheKeys.of(task.ownerId(), task.id())));
+        }
+        reapedCounter.increment(reaped.size());
+        log.debug("Reaped {} tasks expired before {}", reaped.size(), cutoff);
+        return reaped.size();
+    }
+
+    private void updateLag() {
+        Instant cutoff = Instant.now().minus(grace);
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_EXPIRED_SQL, Timestamp.class, Timestamp.from(cutoff));
+        lagMillis.set(oldest == null ? 0 : Duration.between(oldest.toInstant(), cutoff).toMillis());
+    }
+
+    private void throttle(int reaped, long startedNanos) throws InterruptedException {
+        long budget = TimeUnit.SECONDS.toNanos(reaped) / maxRowsPerSecond;
+        TimeUnit.NANOSECONDS.sleep(budget - (System.nanoTime() - startedNanos));
+    }
+
+    record ReapedTask(UUID id, Long ownerId) {
+    }
+}
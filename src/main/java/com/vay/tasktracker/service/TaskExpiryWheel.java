@@ -0,0 +1,259 @@
+package com.vay.tasktracker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+final class TaskExpiryWheel {
+
+    private static final int EMPTY = -1;
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int wheelSize;
+    private final int levels;
+    private final long maxDelta;
+    private final int[] buckets;
+
+    private long currentTick;
+    private int size;
+    private int used;
+    private int freeHead = EMPTY;
+
+    private long[] msb;
+    private long[] lsb;
+    private long[] owners;
+    private long[] deadlines;
+    private int[] next;
+    private int[] prev;
+    private int[] bucketOf;
+    private int[] index;
+
+    TaskExpiryWheel(long tickMillis, int wheelBits, int levels, long nowMillis, int initialCapacity) {
+        this.tickMillis = tickMillis;
+        this.wheelBits = wheelBits;
+        this.wheelSize = 1 << wheelBits;
+        this.levels = levels;
+        this.maxDelta = (1L << (wheelBits * levels)) - 1;
+        this.buckets = new int[wheelSize * levels];
+        Arrays.fill(buckets, EMPTY);
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+
+        int capacity = Math.max(initialCapacity, 16);
+        msb = new long[capacity];
+        lsb = new long[capacity];
+        owners = new long[capacity];
+        deadlines = new long[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        bucketOf = new int[capacity];
+        index = new int[Integer.highestOneBit(capacity) << 2];
+    }
+
+    synchronized void schedule(UUID id, long ownerId, long deadlineMillis) {
+        int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot == EMPTY) {
+            slot = allocate(id);
+        } else {
+            unlink(slot);
+        }
+        owners[slot] = ownerId;
+        deadlines[slot] = deadlineMillis;
+        place(slot, currentTick + 1);
+    }
+
+    synchronized boolean scheduleIfAbsent(UUID id, long ownerId, long deadlineMillis) {
+        if (find(id.getMostSignificantBits(), id.getLeastSignificantBits()) != EMPTY) {
+            return false;
+        }
+        schedule(id, ownerId, deadlineMillis);
+        return true;
+    }
+
+    synchronized boolean cancel(UUID id) {
+        int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot == EMPTY) {
+            return false;
+        }
+        unlink(slot);
+        release(slot);
+        return true;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized List<Expiry> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return List.of();
+        }
+        List<Expiry> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (wheelBits * level)) - 1)) == 0) {
+                    cascade(bucket(level, currentTick));
+                }
+            }
+            int slot = detach(bucket(0, currentTick));
+            while (slot != EMPTY) {
+                int following = next[slot];
+                expired.add(new Expiry(new UUID(msb[slot], lsb[slot]), owners[slot], deadlines[slot]));
+                release(slot);
+                slot = following;
+            }
+        }
+        return expired;
+    }
+
+    private void cascade(int bucket) {
+        int slot = detach(bucket);
+        while (slot != EMPTY) {
+            int following = next[slot];
+            place(slot, currentTick);
+            slot = following;
+        }
+    }
+
+    private void place(int slot, long minTick) {
+        long delta = Math.min(Math.max(Math.floorDiv(deadlines[slot], tickMillis), minTick) - currentTick, maxDelta);
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (wheelBits * (level + 1))) {
+            level++;
+        }
+        link(slot, bucket(level, currentTick + delta));
+    }
+
+    private int bucket(int level, long tick) {
+        return level * wheelSize + (int) ((tick >>> (wheelBits * level)) & (wheelSize - 1));
+    }
+
+    private void link(int slot, int bucket) {
+        int head = buckets[bucket];
+        next[slot] = head;
+        prev[slot] = EMPTY;
+        if (head != EMPTY) {
+            prev[head] = slot;
+        }
+        buckets[bucket] = slot;
+        bucketOf[slot] = bucket;
+    }
+
+    private void unlink(int slot) {
+        if (prev[slot] != EMPTY) {
+            next[prev[slot]] = next[slot];
+        } else {
+            buckets[bucketOf[slot]] = next[slot];
+        }
+        if (next[slot] != EMPTY) {
+            prev[next[slot]] = prev[slot];
+        }
+    }
+
+    private int detach(int bucket) {
+        int head = buckets[bucket];
+        buckets[bucket] = EMPTY;
+        return head;
+    }
+
+    private int allocate(UUID id) {
+        int slot;
+        if (freeHead != EMPTY) {
+            slot = freeHead;
+            freeHead = next[slot];
+        } else {
+            if (used == msb.length) {
+                grow();
+            }
+            slot = used++;
+        }
+        msb[slot] = id.getMostSignificantBits();
+        lsb[slot] = id.getLeastSignificantBits();
+        size++;
+        if (size * 2 > index.length) {
+            rehash(index.length << 1);
+        }
+        insertIndex(slot);
+        return slot;
+    }
+
+    private void release(int slot) {
+        removeIndex(slot);
+        next[slot] = freeHead;
+        freeHead = slot;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = msb.length << 1;
+        msb = Arrays.copyOf(msb, capacity);
+        lsb = Arrays.copyOf(lsb, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        bucketOf = Arrays.copyOf(bucketOf, capacity);
+    }
+
+    private int find(long mostSigBits, long leastSigBits) {
+        int mask = index.length - 1;
+        for (int i = hash(mostSigBits, leastSigBits) & mask; index[i] != 0; i = (i + 1) & mask) {
+            int slot = index[i] - 1;
+            if (msb[slot] == mostSigBits && lsb[slot] == leastSigBits) {
+                return slot;
+            }
+        }
+        return EMPTY;
+    }
+
+    private void insertIndex(int slot) {
+        int mask = index.length - 1;
+        int i = hash(msb[slot], lsb[slot]) & mask;
+        while (index[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        index[i] = slot + 1;
+    }
+
+    private void removeIndex(int slot) {
+        int mask = index.length - 1;
+        int i = hash(msb[slot], lsb[slot]) & mask;
+        while (index[i] != slot + 1) {
+            i = (i + 1) & mask;
+        }
+        for (int j = (i + 1) & mask; index[j] != 0; j = (j + 1) & mask) {
+            int home = hash(msb[index[j] - 1], lsb[index[j] - 1]) & mask;
+            boolean stays = i <= j ? i < home && home <= j : i < home || home <= j;
+            if (!stays) {
+                index[i] = index[j];
+                i = j;
+            }
+        }
+        index[i] = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] previous = index;
+        index = new int[capacity];
+        for (int entry : previous) {
+            if (entry != 0) {
+                insertIndex(entry - 1);
+            }
+        }
+    }
+
+    private static int hash(long mostSigBits, long leastSigBits) {
+        long h = mostSigBits ^ leastSigBits;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    record Expiry(UUID id, long ownerId, long deadlineMillis) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TaskPartitionManager {
+
+    private static final String LOCK_NAME = "task-partitions";
+    private static final String LOCK_TIMEOUT = "set local lock_timeout = '5s'";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("tasks_p(\\d{6})");
+
+    private static final String PARTITIONS_SQL = """
+            select c.relname from pg_inherits i
+            join pg_class c on c.oid = i.inhrelid
+            where i.inhparent = 'tasks'::regclass
+            """;
+    private static final String DEFAULT_HAS_ROWS_SQL = "select exists (select 1 from tasks_default "
+            + "where expiry_date >= ? and expiry_date < ?)";
+    private static final String CREATE_DETACHED_SQL = """
+            create table %1$s (
+                like tasks including defaults including constraints,
+                primary key (id),
+                constraint %1$s_range check (expiry_date is not null and expiry_date >= '%2$s' and expiry_date < '%3$s')
+            )
+            """;
+    private static final String MOVE_FROM_DEFAULT_SQL = "with moved as (delete from tasks_default "
+            + "where expiry_date >= ? and expiry_date < ? returning *) insert into %s select * from moved";
+    private static final String TOMBSTONE_SQL = "insert into task_tombstones (task_id, owner_id, deleted_at) "
+            + "select id, owner_id, now() from %s "
+            + "on conflict (task_id) do update set owner_id = excluded.owner_id, deleted_at = excluded.deleted_at "
+            + "returning task_id as id, owner_id";
+
+    private static final RowMapper<PurgedTask> PURGED_TASK =
+            (rs, rowNum) -> new PurgedTask(rs.getObject("id", UUID.class), rs.getLong("owner_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderLock leaderLock;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.tasks.partitions.months-ahead}")
+    private int monthsAhead;
+
+    @Value("${app.tasks.partitions.retention}")
+    private Duration retention;
+
+    @Value("${app.tasks.partitions.lock-ttl}")
+    private Duration lockTtl;
+
+    @Scheduled(fixedDelayString = "${app.tasks.partitions.check-interval}")
+    public void maintain() {
+        if (!leaderLock.tryAcquire(LOCK_NAME, lockTtl)) {
+            return;
+        }
+        try {
+            Set<YearMonth> existing = existingPartitions();
+            YearMonth current = YearMonth.now(ZoneOffset.UTC);
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                if (!existing.contains(month)) {
+                    create(month);
+                }
+            }
+            Instant cutoff = Instant.now().minus(retention);
+            existing.stream()
+                    .filter(month -> !start(month.plusMonths(1)).isAfter(cutoff))
+                    .sorted()
+                    .forEach(this::drop);
+        } finally {
+            leaderLock.release(LOCK_NAME);
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return "tasks_p" + SUFFIX.format(month);
+    }
+
+    private Set<YearMonth> existingPartitions() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.parse(matcher.group(1), SUFFIX))
+                .collect(Collectors.toSet());
+    }
+
+    private void create(YearMonth month) {
+        String partition = partitionName(month);
+        Timestamp from = Timestamp.from(start(month));
+        Timestamp to = Timestamp.from(start(month.plusMonths(1)));
+        String bounds = "for values from ('%s') to ('%s')".formatted(from.toInstant(), to.toInstant());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_TIMEOUT);
+            boolean spilled = Boolean.TRUE.equals(
+                    jdbcTemplate.queryForObject(DEFAULT_HAS_ROWS_SQL, Boolean.class, from, to));
+            if (!spilled) {
+                jdbcTemplate.execute("create table %s partition of tasks (primary key (id)) %s".formatted(partition, bounds));
+                return;
+            }
+            jdbcTemplate.execute(CREATE_DETACHED_SQL.formatted(partition, from.toInstant(), to.toInstant()));
+            jdbcTemplate.update(MOVE_FROM_DEFAULT_SQL.formatted(partition), from, to);
+            jdbcTemplate.execute("alter table tasks attach partition %s %s".formatted(partition, bounds));
+            jdbcTemplate.execute("alter table %1$s drop constraint %1$s_range".formatted(partition));
+        });
+        log.info("Created task partition {} for expiry dates in {}", partition, month);
+    }
+
+    private void drop(YearMonth month) {
+        String partition = partitionName(month);
+        List<PurgedTask> purged = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(LOCK_TIMEOUT);
+            jdbcTemplate.execute("alter table tasks detach partition " + partition);
+            List<PurgedTask> rows = jdbcTemplate.query(TOMBSTONE_SQL.formatted(partition), PURGED_TASK);
+            rows.forEach(task -> eventPublisher.publishEvent(
+                    new TaskEvent(TaskEvent.Type.DELETED, task.ownerId(), task.id(), null)));
+            jdbcTemplate.execute("drop table " + partition);
+            return rows;
+        });
+        Cache cache = cacheManager.getCache("tasks");
+        if (cache != null && purged != null) {
+            purged.forEach(task -> cache.evict(TaskCacheKeys.of(task.ownerId(), task.id())));
+        }
+        log.info("Dropped expired task partition {} older than {} with {} tasks", partition, retention,
+                purged == null ? 0 : purged.size());
+    }
+
+    private static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    record PurgedTask(UUID id, Long ownerId) {
+    }
+}
@@ -1,18 +1,38 @@
 package com.vay.tasktracker.service;
 
+import com.vay.tasktracker.dto.payload.TaskBatchResult;
+import com.vay.tasktracker.dto.payload.TaskChanges;
 import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.dto.payload.TaskPage;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface TaskService {
-    List<TaskDto> findAll();
+    TaskPage findAll(Long ownerId, TaskFilter filter, String cursor, int limit);
 
-    TaskDto findById(UUID id);
+    Instant lastModified(Long ownerId);
 
-    void create(TaskDto task);
+    TaskChanges findChanges(Long ownerId, String since, int limit);
 
-    void update(UUID id, TaskDto task);
+    TaskDto findById(Long ownerId, UUID id);
 
-    void delete(UUID id);
+    void exportAll(Long ownerId, Consumer<TaskDto> consumer);
+
+    void create(Long ownerId, TaskDto task);
+
+    void update(Long ownerId, UUID id, TaskDto task, Long expectedVersion);
+
+    void patch(Long ownerId, UUID id, TaskDto changes, Long expectedVersion);
+
+    void delete(Long ownerId, UUID id, Long expectedVersion);
+
+    List<TaskBatchResult> createAll(Long ownerId, List<TaskDto> tasks);
+
+    List<TaskBatchResult> updateAll(Long ownerId, List<TaskDto> tasks);
+
+    List<TaskBatchResult> deleteAll(Long ownerId, List<UUID> ids);
 }
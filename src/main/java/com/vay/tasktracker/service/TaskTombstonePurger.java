@@ -0,0 +1,32 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TaskTombstonePurger {
+
+    private final TaskTombstoneRepository tombstoneRepository;
+
+    @Value("${app.tasks.sync.tombstone-retention}")
+    private Duration retention;
+
+    @Scheduled(fixedDelayString = "${app.tasks.sync.purge-interval}")
+    public void purge() {
+        int purged = tombstoneRepository.deleteOlderThan(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} task tombstones older than {}", purged, retention);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.exception.InvalidCursorException;
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+record TaskWatermark(Instant timestamp, UUID id) {
+
+    static final UUID MIN_ID = new UUID(0, 0);
+    static final UUID MAX_ID = new UUID(-1, -1);
+
+    static final Comparator<TaskWatermark> ORDER = Comparator.comparing(TaskWatermark::timestamp)
+            .thenComparing(TaskWatermark::id, TaskWatermark::compareUnsigned);
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(24)
+                .putLong(ChronoUnit.MICROS.between(Instant.EPOCH, timestamp))
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static TaskWatermark decode(String watermark) {
+        if (!StringUtils.hasText(watermark)) {
+            return null;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(watermark);
+            if (bytes.length != 24) {
+                throw new InvalidCursorException("Invalid watermark: " + watermark);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new TaskWatermark(Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS),
+                    new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid watermark: " + watermark);
+        }
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,168 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.repository.TaskPatchRepository;
+import com.vay.tasktracker.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.tasks.write-behind.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TaskWriteBehindFlusher {
+
+    private static final String LOCK_NAME = "task-write-behind";
+    private static final String FENCE_SQL = "update write_behind_fences set token = ? where name = ? and token < ?";
+    private static final String VERSION_CONFLICT = "version conflict";
+
+    private final TaskWriteBehindQueue queue;
+    private final LeaderLock leaderLock;
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+
+    @Value("${app.tasks.write-behind.batch-size}")
+    private int batchSize;
+
+    @Value("${app.tasks.write-behind.lock-ttl}")
+    private Duration lockTtl;
+
+    @Scheduled(fixedDelayString = "${app.tasks.write-behind.flush-interval}")
+    public void flush() {
+        long fence;
+        while ((fence = leaderLock.tryAcquireFenced(LOCK_NAME, lockTtl)) > 0 && flushBatch(fence) == batchSize) {
+            log.debug("Write-behind backlog exceeds one batch, flushing again");
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+        leaderLock.release(LOCK_NAME);
+    }
+
+    int flushBatch(long fence) {
+        List<TaskWriteBehindQueue.Entry> entries = queue.read(batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, TaskWriteBehindQueue.Entry> latest = new LinkedHashMap<>();
+        Set<TaskWriteBehindQueue.Entry> conflicts = new HashSet<>();
+        for (TaskWriteBehindQueue.Entry entry : entries) {
+            TaskWriteBehindQueue.Entry previous = latest.get(entry.id());
+            if (previous == null) {
+                latest.put(entry.id(), entry);
+            } else if (Objects.equals(entry.expectedVersion(), previous.task().version())) {
+                latest.put(entry.id(), coalesce(previous, entry));
+            } else {
+                conflicts.add(entry);
+            }
+        }
+        try {
+            settle(entries, conflicts, latest, transactionTemplate.execute(status -> apply(fence, latest.values())));
+        } catch (NonTransientDataAccessException e) {
+            log.warn("Write-behind batch of {} updates was rejected, applying them one by one", latest.size(), e);
+            latest.values().forEach(update -> applyAlone(fence, update, entries.stream()
+                    .filter(entry -> entry.id().equals(update.id()))
+                    .toList(), conflicts, latest));
+        }
+        log.debug("Flushed {} queued task updates as {} writes", entries.size(), latest.size());
+        return entries.size();
+    }
+
+    private void applyAlone(long fence, TaskWriteBehindQueue.Entry update, List<TaskWriteBehindQueue.Entry> records,
+                            Set<TaskWriteBehindQueue.Entry> conflicts, Map<UUID, TaskWriteBehindQueue.Entry> latest) {
+        try {
+            settle(records, conflicts, latest, transactionTemplate.execute(status -> apply(fence, List.of(update))));
+        } catch (NonTransientDataAccessException e) {
+            log.error("Queued update for task {} was rejected, moving it to {}", update.id(),
+                    TaskWriteBehindQueue.DEAD_LETTER_KEY, e);
+            evict(latest, queue.deadLetter(records, e.getMessage()));
+        }
+    }
+
+    private void settle(List<TaskWriteBehindQueue.Entry> records, Set<TaskWriteBehindQueue.Entry> conflicts,
+                        Map<UUID, TaskWriteBehindQueue.Entry> latest, Set<UUID> stale) {
+        Map<Boolean, List<TaskWriteBehindQueue.Entry>> rejected = records.stream()
+                .collect(Collectors.partitioningBy(entry -> conflicts.contains(entry) || stale.contains(entry.id())));
+        if (!rejected.get(false).isEmpty()) {
+            evict(latest, queue.acknowledge(rejected.get(false)));
+        }
+        if (!rejected.get(true).isEmpty()) {
+            log.warn("{} queued task updates were based on a stale version, moving them to {}", rejected.get(true).size(),
+                    TaskWriteBehindQueue.DEAD_LETTER_KEY);
+            evict(latest, queue.deadLetter(rejected.get(true), VERSION_CONFLICT));
+        }
+    }
+
+    private void evict(Map<UUID, TaskWriteBehindQueue.Entry> latest, List<UUID> settled) {
+        Cache cache = cacheManager.getCache("tasks");
+        if (cache != null) {
+            settled.forEach(id -> cache.evict(TaskCacheKeys.of(latest.get(id).ownerId(), id)));
+        }
+    }
+
+    private Set<UUID> apply(long fence, Collection<TaskWriteBehindQueue.Entry> updates) {
+        if (jdbcTemplate.update(FENCE_SQL, fence, LOCK_NAME, fence) == 0) {
+            throw new IllegalStateException("Fence %d of the %s lock was superseded by a newer leader"
+                    .formatted(fence, LOCK_NAME));
+        }
+        Map<Boolean, List<TaskWriteBehindQueue.Entry>> byKind = updates.stream()
+                .collect(Collectors.partitioningBy(TaskWriteBehindQueue.Entry::partial));
+        Set<UUID> stale = new HashSet<>();
+        stale.addAll(stale(byKind.get(false), taskRepository::replaceAll));
+        stale.addAll(stale(byKind.get(true), taskRepository::patchAll));
+        return stale;
+    }
+
+    private static List<UUID> stale(List<TaskWriteBehindQueue.Entry> updates,
+                                    Function<List<TaskPatchRepository.VersionedUpdate>, int[]> write) {
+        if (updates.isEmpty()) {
+            return List.of();
+        }
+        int[] updated = write.apply(updates.stream()
+                .map(update -> new TaskPatchRepository.VersionedUpdate(update.task(), update.expectedVersion()))
+                .toList());
+        return IntStream.range(0, updated.length)
+                .filter(i -> updated[i] == 0)
+                .mapToObj(i -> updates.get(i).id())
+                .toList();
+    }
+
+    private static TaskWriteBehindQueue.Entry coalesce(TaskWriteBehindQueue.Entry previous,
+                                                       TaskWriteBehindQueue.Entry next) {
+        if (!next.partial()) {
+            return new TaskWriteBehindQueue.Entry(next.recordId(), next.id(), next.ownerId(), next.task(),
+                    previous.expectedVersion(), false);
+        }
+        return new TaskWriteBehindQueue.Entry(next.recordId(), next.id(), next.ownerId(),
+                previous.task().merge(next.task()), previous.expectedVersion(), previous.partial());
+    }
+}
@@ -0,0 +1,151 @@
+package com.vay.tasktracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vay.tasktracker.dto.payload.TaskDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TaskWriteBehindQueue {
+
+    static final String STREAM_KEY = "task_tracker:task-updates";
+    static final String LATEST_KEY = "task_tracker:task-updates:latest";
+    static final String DEAD_LETTER_KEY = "task_tracker:task-updates:dead";
+
+    private static final int DEAD_LETTER_MAX_LENGTH = 10_000;
+
+    private static final RedisScript<String> ENQUEUE_SCRIPT = RedisScript.of("""
+            local recordId = redis.call('XADD', KEYS[1], '*', 'id', ARGV[1], 'owner', ARGV[4], 'task', ARGV[2], 'partial', ARGV[3], 'expected', ARGV[5])
+            redis.call('HSET', KEYS[2], ARGV[1], recordId)
+            return recordId
+            """, String.class);
+
+    private static final RedisScript<String> ACK_SCRIPT = RedisScript.of("""
+            local settled = {}
+            for i = 1, #ARGV, 2 do
+                redis.call('XDEL', KEYS[1], ARGV[i + 1])
+                if redis.call('HGET', KEYS[2], ARGV[i]) == ARGV[i + 1] then
+                    redis.call('HDEL', KEYS[2], ARGV[i])
+                    table.insert(settled, ARGV[i])
+                end
+            end
+            return table.concat(settled, ',')
+            """, String.class);
+
+    private static final RedisScript<String> DEAD_LETTER_SCRIPT = RedisScript.of("""
+            local settled = {}
+            for i = 3, #ARGV, 2 do
+                local record = redis.call('XRANGE', KEYS[1], ARGV[i + 1], ARGV[i + 1])[1]
+                if record then
+                    local fields = record[2]
+                    table.insert(fields, 'record')
+                    table.insert(fields, ARGV[i + 1])
+                    table.insert(fields, 'reason')
+                    table.insert(fields, ARGV[1])
+                    redis.call('XADD', KEYS[3], 'MAXLEN', '~', ARGV[2], '*', unpack(fields))
+                    redis.call('XDEL', KEYS[1], ARGV[i + 1])
+                end
+                if ARGV[i] ~= '' and redis.call('HGET', KEYS[2], ARGV[i]) == ARGV[i + 1] then
+                    redis.call('HDEL', KEYS[2], ARGV[i])
+                    table.insert(settled, ARGV[i])
+                end
+            end
+            return table.concat(settled, ',')
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void enqueue(Long ownerId, UUID id, TaskDto task, Long expectedVersion, boolean partial) {
+        try {
+            redisTemplate.execute(ENQUEUE_SCRIPT, List.of(STREAM_KEY, LATEST_KEY),
+                    id.toString(), objectMapper.writeValueAsString(task), String.valueOf(partial), String.valueOf(ownerId),
+                    expectedVersion == null ? "" : expectedVersion.toString());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Task update for %s cannot be serialized".formatted(id), e);
+        }
+    }
+
+    public List<Entry> read(int count) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(STREAM_KEY, Range.unbounded(), Limit.limit().count(count));
+        if (records == null) {
+            return List.of();
+        }
+        List<Entry> entries = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                entries.add(new Entry(record.getId(), UUID.fromString((String) record.getValue().get("id")),
+                        Long.valueOf((String) record.getValue().get("owner")),
+                        objectMapper.readValue((String) record.getValue().get("task"), TaskDto.class),
+                        toVersion((String) record.getValue().get("expected")),
+                        Boolean.parseBoolean((String) record.getValue().get("partial"))));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.error("Queued task update {} is corrupt, moving it to {}", record.getId(), DEAD_LETTER_KEY, e);
+                deadLetterRecords(List.of(String.valueOf(record.getValue().getOrDefault("id", "")), record.getId().getValue()),
+                        e.getMessage());
+            }
+        }
+        return entries;
+    }
+
+    public List<UUID> acknowledge(List<Entry> entries) {
+        String settled = redisTemplate.execute(ACK_SCRIPT, List.of(STREAM_KEY, LATEST_KEY), arguments(entries).toArray());
+        return toIds(settled);
+    }
+
+    public List<UUID> deadLetter(List<Entry> entries, String reason) {
+        return deadLetterRecords(arguments(entries), reason);
+    }
+
+    private List<UUID> deadLetterRecords(List<String> records, String reason) {
+        List<String> args = new ArrayList<>(records.size() + 2);
+        args.add(String.valueOf(reason));
+        args.add(String.valueOf(DEAD_LETTER_MAX_LENGTH));
+        args.addAll(records);
+        String settled = redisTemplate.execute(DEAD_LETTER_SCRIPT, List.of(STREAM_KEY, LATEST_KEY, DEAD_LETTER_KEY),
+                args.toArray());
+        return toIds(settled);
+    }
+
+    private static List<String> arguments(List<Entry> entries) {
+        List<String> args = new ArrayList<>(entries.size() * 2);
+        entries.forEach(entry -> {
+            args.add(entry.id().toString());
+            args.add(entry.recordId().getValue());
+        });
+        return args;
+    }
+
+    private static Long toVersion(String version) {
+        return StringUtils.hasText(version) ? Long.valueOf(version) : null;
+    }
+
+    private static List<UUID> toIds(String settled) {
+        if (!StringUtils.hasText(settled)) {
+            return List.of();
+        }
+        return Arrays.stream(settled.split(",")).map(UUID::fromString).toList();
+    }
+
+    public record Entry(RecordId recordId, UUID id, Long ownerId, TaskDto task, Long expectedVersion, boolean partial) {
+    }
+}
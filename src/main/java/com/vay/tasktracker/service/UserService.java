@@ -4,10 +4,15 @@ import com.vay.tasktracker.dto.auth.RegisterRequest;
 import com.vay.tasktracker.exception.UserAlreadyExistsException;
 import com.vay.tasktracker.model.User;
 import com.vay.tasktracker.repository.UserRepository;
+import com.vay.tasktracker.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -15,22 +20,30 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "users", key = "#username", unless = "#result == null")
+    @Cacheable(value = "users", key = "T(com.vay.tasktracker.repository.UserCacheKeys).username(#username)",
+            unless = "#result == null")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
     @Transactional
-    @CacheEvict(value = "users", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "T(com.vay.tasktracker.repository.UserCacheKeys).username(#request.username)"),
+            @CacheEvict(value = "users", key = "T(com.vay.tasktracker.repository.UserCacheKeys).email(#request.email)"),
+            @CacheEvict(value = "user-availability", key = "T(com.vay.tasktracker.repository.UserCacheKeys).username(#request.username)"),
+            @CacheEvict(value = "user-availability", key = "T(com.vay.tasktracker.repository.UserCacheKeys).email(#request.email)")
+    })
     public User registerUser(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new UserAlreadyExistsException("User with this username already exists");
@@ -45,16 +58,48 @@ public class UserService implements UserDetailsService {
         user.setEmail(request.getEmail());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
 
-        return userRepository.save(user);
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new UserAlreadyExistsException("User with this username or email already exists");
+        }
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "T(com.vay.tasktracker.repository.UserCacheKeys).username(#username)"),
+            @CacheEvict(value = "users", key = "T(com.vay.tasktracker.repository.UserCacheKeys).email(#result.email)")
+    })
+    public User updateRole(String username, User.Role role) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        user.setRole(role);
+        tokenRevocationService.revokeTokens(username);
+        return user;
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "T(com.vay.tasktracker.repository.UserCacheKeys).username(#user.username)"),
+            @CacheEvict(value = "users", key = "T(com.vay.tasktracker.repository.UserCacheKeys).email(#result.email)")
+    })
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User existing = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        existing.setPassword(newPassword);
+        return existing;
     }
 
-    @Cacheable(value = "users", key = "#username", unless = "#result == null")
+    @Cacheable(value = "users", key = "T(com.vay.tasktracker.repository.UserCacheKeys).username(#username)",
+            unless = "#result == null")
     public User findByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
-    @Cacheable(value = "users", key = "#email", unless = "#result == null")
+    @Cacheable(value = "users", key = "T(com.vay.tasktracker.repository.UserCacheKeys).email(#email)",
+            unless = "#result == null")
     public User findByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
@@ -0,0 +1,43 @@
+create table users
+(
+    id       bigint generated by default as identity primary key,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    email    varchar(255) not null,
+    role     varchar(255) check (role in ('USER', 'ADMIN'))
+);
+
+create unique index idx_users_lower_email on users (lower(email));
+
+create table tasks
+(
+    id          uuid                     not null,
+    owner_id    bigint                   not null references users (id),
+    title       varchar(255),
+    description varchar(255),
+    expiry_date timestamp with time zone,
+    version     bigint,
+    created_at  timestamp with time zone,
+    updated_at  timestamp with time zone
+) partition by range (expiry_date);
+
+create index idx_tasks_owner_id_id on tasks (owner_id, id);
+create index idx_tasks_owner_id_expiry_date_id on tasks (owner_id, expiry_date, id);
+create index idx_tasks_owner_id_title on tasks (owner_id, title varchar_pattern_ops);
+create index idx_tasks_owner_id_updated_at_id on tasks (owner_id, updated_at, id);
+create index idx_tasks_expiry_date_id on tasks (expiry_date, id);
+
+-- A partitioned primary key must include expiry_date, which is nullable, so the primary key on id is declared
+-- per partition. id is therefore only unique within a partition (UUIDv7 generation keeps it unique in practice),
+-- and lookups by id alone cannot be pruned: they probe the (owner_id, id) index of every partition.
+create table tasks_default partition of tasks (primary key (id)) default;
+
+create table task_tombstones
+(
+    task_id    uuid                     not null primary key,
+    owner_id   bigint                   not null,
+    deleted_at timestamp with time zone not null
+);
+
+create index idx_task_tombstones_owner_id_deleted_at_task_id on task_tombstones (owner_id, deleted_at, task_id);
+create index idx_task_tombstones_deleted_at on task_tombstones (deleted_at);
@@ -0,0 +1,8 @@
+create table write_behind_fences
+(
+    name  varchar(255) primary key,
+    token bigint not null
+);
+
+insert into write_behind_fences (name, token)
+values ('task-write-behind', 0);
@@ -0,0 +1,83 @@
+package com.vay.tasktracker.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vay.tasktracker.cache.CompactCacheSerializer;
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"json", "compact"})
+    private String format;
+
+    @Param({"user", "task"})
+    private String value;
+
+    private RedisSerializer<Object> serializer;
+    private Object sample;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        RedisSerializer<Object> json = GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(JsonMapper.builder()
+                        .addModule(new JavaTimeModule())
+                        .disable(MapperFeature.USE_GETTERS_AS_SETTERS)
+                        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                        .build())
+                .defaultTyping(true)
+                .build();
+        SmileMapper smile = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(MapperFeature.USE_GETTERS_AS_SETTERS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        sample = "user".equals(value) ? user() : task();
+        serializer = "json".equals(format)
+                ? json
+                : new CompactCacheSerializer(smile, sample.getClass(), json, 1024);
+        serialized = serializer.serialize(sample);
+        System.out.printf("%n%s/%s payload: %d bytes%n", format, value, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(sample);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("benchmark-user");
+        user.setEmail("benchmark-user@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2q6Zp0.8eC5mY4YbL6cWv3e");
+        return user;
+    }
+
+    private static TaskDto task() {
+        return new TaskDto(UUID.randomUUID(), "Prepare release notes",
+                "Collect merged changes and write the summary for the next release", Instant.now());
+    }
+}
@@ -0,0 +1,160 @@
+package com.vay.tasktracker.benchmark;
+
+import com.vay.tasktracker.config.SecurityConfig;
+import com.vay.tasktracker.model.User;
+import com.vay.tasktracker.security.JwtAuthenticationFilter;
+import com.vay.tasktracker.security.JwtTokenProvider;
+import com.vay.tasktracker.security.TokenRevocationService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SecurityChainBenchmark {
+
+    @Param({"stateless", "session"})
+    private String chain;
+
+    private AnnotationConfigWebApplicationContext context;
+    private MockMvc mockMvc;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws Exception {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.setEnvironment(new MockEnvironment()
+                .withProperty("app.jwt.secret", "benchmark-secret-benchmark-secret-benchmark-secret")
+                .withProperty("app.jwt.expiration", "900000")
+                .withProperty("app.jwt.cache.max-size", "10000")
+                .withProperty("app.jwt.stateless-principal", "false")
+                .withProperty("app.jwt.revocation.check-ttl", "30s")
+                .withProperty("app.security.bcrypt.strength", "4"));
+        context.register(Application.class, "stateless".equals(chain) ? SecurityConfig.class : SessionChain.class);
+        context.refresh();
+
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        authorization = "Bearer " + context.getBean(JwtTokenProvider.class).generateToken(Users.USER);
+
+        MvcResult result = request();
+        System.out.printf("%n%s: status %d, session created: %b%n", chain, result.getResponse().getStatus(),
+                result.getRequest().getSession(false) != null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult request() throws Exception {
+        return mockMvc.perform(get("/api/tasks").header("Authorization", authorization)).andReturn();
+    }
+
+    @EnableWebMvc
+    @Import({JwtTokenProvider.class, JwtAuthenticationFilter.class, Users.class})
+    static class Application {
+
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        TokenRevocationService tokenRevocationService() {
+            return new TokenRevocationService(null, null);
+        }
+
+        @Bean
+        RouterFunction<ServerResponse> tasks() {
+            return RouterFunctions.route()
+                    .GET("/api/tasks", request -> ServerResponse.ok().body(List.of()))
+                    .build();
+        }
+    }
+
+    @EnableWebSecurity
+    static class SessionChain {
+
+        @Bean
+        SecurityFilterChain sessionFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter)
+                throws Exception {
+            HttpSessionSecurityContextRepository repository = new HttpSessionSecurityContextRepository();
+            Filter saveContext = (request, response, filterChain) -> {
+                repository.saveContext(SecurityContextHolder.getContext(), (HttpServletRequest) request,
+                        (HttpServletResponse) response);
+                filterChain.doFilter(request, response);
+            };
+            return http
+                    .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+                    .formLogin(Customizer.withDefaults())
+                    .httpBasic(Customizer.withDefaults())
+                    .securityContext(context -> context.securityContextRepository(repository))
+                    .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                    .addFilterAfter(saveContext, JwtAuthenticationFilter.class)
+                    .build();
+        }
+    }
+
+    static class Users implements UserDetailsService, UserDetailsPasswordService {
+
+        static final User USER = user();
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            return USER;
+        }
+
+        @Override
+        public UserDetails updatePassword(UserDetails user, String newPassword) {
+            return user;
+        }
+
+        private static User user() {
+            User user = new User();
+            user.setId(1L);
+            user.setUsername("benchmark-user");
+            user.setPassword("{noop}password123");
+            return user;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.vay.tasktracker.benchmark;
+
+import com.vay.tasktracker.model.UuidV7;
+import org.openjdk.jmh.annotations.*;
+import org.postgresql.PGConnection;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class TaskIdInsertBenchmark {
+
+    private static final String URL = System.getProperty("benchmark.jdbc.url",
+            "jdbc:postgresql://localhost:5432/task-db?user=admin&password=admin&reWriteBatchedInserts=true");
+    private static final int BATCH_SIZE = 1000;
+    private static final int COPY_CHUNK = 100_000;
+
+    @Param({"random", "v7"})
+    private String idType;
+
+    @Param({"2000000"})
+    private int existingRows;
+
+    private Supplier<UUID> ids;
+    private String table;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long walStart;
+    private long inserted;
+
+    @Setup
+    public void setUp() throws Exception {
+        ids = "v7".equals(idType) ? UuidV7::next : UUID::randomUUID;
+        table = "benchmark_task_ids_" + idType;
+        connection = DriverManager.getConnection(URL);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table + " (id uuid primary key, title varchar(255))");
+        }
+        for (int copied = 0; copied < existingRows; copied += COPY_CHUNK) {
+            StringBuilder rows = new StringBuilder();
+            for (int i = 0; i < Math.min(COPY_CHUNK, existingRows - copied); i++) {
+                rows.append(ids.get()).append("\tbenchmark task\n");
+            }
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("copy " + table + " (id, title) from stdin", new StringReader(rows.toString()));
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("vacuum analyze " + table);
+        }
+        System.out.printf("%n%s: %d existing rows, primary key %d MB%n", idType, existingRows, indexSize() >> 20);
+        insert = connection.prepareStatement("insert into " + table + " (id, title) values (?, 'benchmark task')");
+        walStart = walPosition();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insert() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, ids.get());
+            insert.addBatch();
+        }
+        inserted += BATCH_SIZE;
+        return insert.executeBatch();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        long wal = walPosition() - walStart;
+        System.out.printf("%n%s: inserted %d rows, primary key %d MB, %d WAL bytes per row%n",
+                idType, inserted, indexSize() >> 20, inserted == 0 ? 0 : wal / inserted);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table " + table);
+        }
+        connection.close();
+    }
+
+    private long indexSize() throws SQLException {
+        return queryLong("select pg_relation_size('" + table + "_pkey')");
+    }
+
+    private long walPosition() throws SQLException {
+        return queryLong("select pg_current_wal_lsn() - '0/0'::pg_lsn");
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.vay.tasktracker.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactCacheSerializerTest {
+
+    private final SmileMapper smileMapper = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(MapperFeature.USE_GETTERS_AS_SETTERS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private RedisSerializer<Object> jsonSerializer;
+    private CompactCacheSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        jsonSerializer = GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(JsonMapper.builder()
+                        .addModule(new JavaTimeModule())
+                        .disable(MapperFeature.USE_GETTERS_AS_SETTERS)
+                        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                        .build())
+                .defaultTyping(true)
+                .build();
+        serializer = new CompactCacheSerializer(smileMapper, TaskDto.class, jsonSerializer, 256);
+    }
+
+    @Test
+    void roundTrip_shouldRestoreTaskDto() {
+        // given
+        TaskDto task = new TaskDto(UUID.randomUUID(), "Title", "Description", Instant.now());
+
+        // when
+        byte[] bytes = serializer.serialize(task);
+
+        // then
+        assertThat(bytes[0]).isEqualTo(CompactCacheSerializer.FORMAT_VERSION);
+        assertThat(bytes[1]).isZero();
+        assertThat(new String(bytes)).doesNotContain(TaskDto.class.getName());
+        assertThat(bytes.length).isLessThan(jsonSerializer.serialize(task).length * 2 / 3);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(task);
+    }
+
+    @Test
+    void roundTrip_shouldRestoreUser() {
+        // given
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setEmail("test@example.com");
+        user.setPassword("encodedPassword123");
+
+        CompactCacheSerializer userSerializer = new CompactCacheSerializer(smileMapper, User.class, jsonSerializer, 256);
+
+        // when
+        User result = (User) userSerializer.deserialize(userSerializer.serialize(user));
+
+        // then
+        assertThat(result.getUsername()).isEqualTo("testuser");
+        assertThat(result.getPassword()).isEqualTo("encodedPassword123");
+        assertThat(result.getRole()).isEqualTo(User.Role.USER);
+    }
+
+    @Test
+    void serialize_whenPayloadExceedsThreshold_shouldCompress() {
+        // given
+        TaskDto task = new TaskDto(UUID.randomUUID(), "Title", "x".repeat(4096), Instant.now());
+
+        // when
+        byte[] bytes = serializer.serialize(task);
+
+        // then
+        assertThat(bytes[1]).isEqualTo(CompactCacheSerializer.FLAG_DEFLATED);
+        assertThat(bytes.length).isLessThan(512);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(task);
+    }
+
+    @Test
+    void deserialize_whenValueWasWrittenAsJson_shouldReadLegacyFormat() {
+        // given
+        TaskDto task = new TaskDto(UUID.randomUUID(), "Title", "Description", Instant.now());
+
+        // when/then
+        assertThat(serializer.deserialize(jsonSerializer.serialize(task))).isEqualTo(task);
+    }
+
+    @Test
+    void deserialize_whenFormatVersionIsUnknown_shouldTreatAsMiss() {
+        // when/then
+        assertThat(serializer.deserialize(new byte[]{99, 0, 1, 2})).isNull();
+    }
+}
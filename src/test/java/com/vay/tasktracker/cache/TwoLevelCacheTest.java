@@ -0,0 +1,243 @@
+package com.vay.tasktracker.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    private static final String CACHE_NAME = "tasks";
+
+    @Mock
+    private Cache remote;
+
+    @Mock
+    private TwoLevelCache.InvalidationPublisher invalidationPublisher;
+
+    @Mock
+    private Callable<String> unusedLoader;
+
+    private TwoLevelCache cache;
+    private UUID key;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TwoLevelCache(CACHE_NAME, Caffeine.newBuilder().maximumSize(100).build(), remote, invalidationPublisher);
+        key = UUID.randomUUID();
+    }
+
+    @Test
+    void get_whenLocalMiss_shouldReadRemoteOnceAndKeepLocalCopy() {
+        // given
+        when(remote.get(key)).thenReturn(new SimpleValueWrapper("value"));
+
+        // when
+        Cache.ValueWrapper first = cache.get(key);
+        Cache.ValueWrapper second = cache.get(key);
+
+        // then
+        assertThat(first.get()).isEqualTo("value");
+        assertThat(second.get()).isEqualTo("value");
+        verify(remote, times(1)).get(key);
+    }
+
+    @Test
+    void get_whenMissingInBothTiers_shouldReturnNull() {
+        // given
+        when(remote.get(key)).thenReturn(null);
+
+        // when/then
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void getWithLoader_whenRemoteHit_shouldNotCallLoader() {
+        // given
+        when(remote.get(key)).thenReturn(new SimpleValueWrapper("remote"));
+
+        // when
+        String first = cache.get(key, unusedLoader);
+        String second = cache.get(key, unusedLoader);
+
+        // then
+        assertThat(first).isEqualTo("remote");
+        assertThat(second).isEqualTo("remote");
+        verify(remote, times(1)).get(key);
+        verifyNoInteractions(unusedLoader);
+    }
+
+    @Test
+    void getWithLoader_whenMissingInBothTiers_shouldLoadAndWriteBothTiers() {
+        // given
+        when(remote.get(key)).thenReturn(null);
+
+        // when
+        String value = cache.get(key, () -> "loaded");
+
+        // then
+        assertThat(value).isEqualTo("loaded");
+        assertThat(cache.getLocalCache().getIfPresent(key.toString())).isEqualTo("loaded");
+        verify(remote).put(key, "loaded");
+        verifyNoInteractions(invalidationPublisher);
+    }
+
+    @Test
+    void getWithLoader_whenConcurrentMisses_shouldLoadOnce() throws Exception {
+        // given
+        when(remote.get(key)).thenReturn(null);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            release.await();
+            return "loaded";
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> cache.get(key, loader)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        }
+        assertThat(loads).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    void getWithLoader_whenEvictedDuringLoad_shouldNotWriteStaleValue() throws Exception {
+        // given
+        when(remote.get(key)).thenReturn(null);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> result = executor.submit(() -> cache.get(key, () -> {
+            loading.countDown();
+            release.await();
+            return "stale";
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+
+        // when
+        cache.evict(key);
+        release.countDown();
+
+        // then
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(cache.getLocalCache().getIfPresent(key.toString())).isNull();
+        verify(remote, never()).put(any(), any());
+        executor.shutdown();
+    }
+
+    @Test
+    void getWithLoader_whenPutDuringLoad_shouldKeepNewerValue() throws Exception {
+        // given
+        when(remote.get(key)).thenReturn(null);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> result = executor.submit(() -> cache.get(key, () -> {
+            loading.countDown();
+            release.await();
+            return "stale";
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+
+        // when
+        cache.put(key, "fresh");
+        release.countDown();
+
+        // then
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(cache.getLocalCache().getIfPresent(key.toString())).isEqualTo("fresh");
+        verify(remote, never()).put(key, "stale");
+        executor.shutdown();
+    }
+
+    @Test
+    void getWithLoader_whenLoaderFails_shouldThrowValueRetrievalException() {
+        // given
+        when(remote.get(key)).thenReturn(null);
+
+        // when/then
+        assertThatThrownBy(() -> cache.get(key, () -> {
+            throw new IOException("database down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasRootCauseInstanceOf(IOException.class);
+        verify(remote, never()).put(any(), any());
+    }
+
+    @Test
+    void put_shouldWriteBothTiersAndBroadcastInvalidation() {
+        // when
+        cache.put(key, "value");
+
+        // then
+        verify(remote).put(key, "value");
+        verify(invalidationPublisher).publish(CACHE_NAME, key.toString());
+        assertThat(cache.get(key).get()).isEqualTo("value");
+        verify(remote, never()).get(key);
+    }
+
+    @Test
+    void evict_shouldDropBothTiersAndBroadcastInvalidation() {
+        // given
+        cache.put(key, "value");
+
+        // when
+        cache.evict(key);
+
+        // then
+        verify(remote).evict(key);
+        verify(invalidationPublisher, times(2)).publish(CACHE_NAME, key.toString());
+        assertThat(cache.getLocalCache().getIfPresent(key.toString())).isNull();
+    }
+
+    @Test
+    void clear_shouldBroadcastClear() {
+        // when
+        cache.clear();
+
+        // then
+        verify(remote).clear();
+        verify(invalidationPublisher).publish(CACHE_NAME, null);
+    }
+
+    @Test
+    void evictLocal_shouldOnlyDropLocalCopy() {
+        // given
+        cache.put(key, "value");
+        when(remote.get(key)).thenReturn(new SimpleValueWrapper("remote"));
+
+        // when
+        cache.evictLocal(key.toString());
+
+        // then
+        assertThat(cache.get(key).get()).isEqualTo("remote");
+        verify(remote, never()).evict(key);
+    }
+}
@@ -0,0 +1,149 @@
+package com.vay.tasktracker.config;
+
+import com.vay.tasktracker.controller.TaskController;
+import com.vay.tasktracker.dto.payload.TaskPage;
+import com.vay.tasktracker.model.User;
+import com.vay.tasktracker.exception.GlobalExceptionHandler;
+import com.vay.tasktracker.security.JwtAuthenticationFilter;
+import com.vay.tasktracker.security.JwtTokenProvider;
+import com.vay.tasktracker.security.TokenRevocationService;
+import com.vay.tasktracker.service.TaskEventBroadcaster;
+import com.vay.tasktracker.service.TaskService;
+import com.vay.tasktracker.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaskController.class)
+@TestPropertySource(properties = "app.jwt.stateless-principal=true")
+class SecurityConfigTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TaskService taskService;
+
+    @MockitoBean
+    private TaskEventBroadcaster eventBroadcaster;
+
+    @MockitoBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockitoBean
+    private TokenRevocationService revocationService;
+
+    @MockitoBean
+    private UserService userService;
+
+    @Test
+    void request_WithoutToken_IsRejectedWithoutSession() throws Exception {
+        // when
+        MvcResult result = mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().doesNotExist("WWW-Authenticate"))
+                .andReturn();
+
+        // then
+        assertThat(result.getRequest().getSession(false)).isNull();
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void request_WithValidToken_IsAuthenticatedWithoutSessionOrUserLookup() throws Exception {
+        // given
+        Claims claims = Jwts.claims().setSubject("john");
+        claims.setIssuedAt(new Date());
+        User principal = new User();
+        principal.setId(1L);
+        principal.setUsername("john");
+        when(tokenProvider.parseClaims(TOKEN)).thenReturn(Optional.of(claims));
+        when(tokenProvider.getPrincipal(claims)).thenReturn(Optional.of(principal));
+        when(taskService.findAll(eq(1L), any(), isNull(), anyInt())).thenReturn(new TaskPage(List.of(), null));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Set-Cookie"))
+                .andReturn();
+
+        // then
+        assertThat(result.getRequest().getSession(false)).isNull();
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void request_WithRevokedToken_IsRejected() throws Exception {
+        // given
+        Claims claims = Jwts.claims().setSubject("john");
+        User principal = new User();
+        principal.setId(1L);
+        principal.setUsername("john");
+        when(tokenProvider.parseClaims(TOKEN)).thenReturn(Optional.of(claims));
+        when(tokenProvider.getPrincipal(claims)).thenReturn(Optional.of(principal));
+        when(revocationService.isRevoked(eq("john"), any())).thenReturn(true);
+
+        // when/then
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + TOKEN))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void request_WithTokenWithoutUserClaims_LoadsUserAfterRevocationCheck() throws Exception {
+        // given
+        Claims claims = Jwts.claims().setSubject("john");
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("john");
+        when(tokenProvider.parseClaims(TOKEN)).thenReturn(Optional.of(claims));
+        when(userService.loadUserByUsername("john")).thenReturn(user);
+        when(taskService.findAll(eq(1L), any(), isNull(), anyInt())).thenReturn(new TaskPage(List.of(), null));
+
+        // when/then
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + TOKEN))
+                .andExpect(status().isOk());
+        verify(revocationService).isRevoked(eq("john"), any());
+    }
+
+    @Test
+    void request_WithRevokedTokenWithoutUserClaims_IsRejectedWithoutUserLookup() throws Exception {
+        // given
+        Claims claims = Jwts.claims().setSubject("john");
+        when(tokenProvider.parseClaims(TOKEN)).thenReturn(Optional.of(claims));
+        when(revocationService.isRevoked(eq("john"), any())).thenReturn(true);
+
+        // when/then
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + TOKEN))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(userService, taskService);
+    }
+
+    @SpringBootConfiguration
+    @Import({TaskController.class, GlobalExceptionHandler.class, SecurityConfig.class, JwtAuthenticationFilter.class})
+    static class Config {
+    }
+}
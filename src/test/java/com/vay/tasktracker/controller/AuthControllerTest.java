@@ -0,0 +1,140 @@
+package com.vay.tasktracker.controller;
+
+import com.vay.tasktracker.config.SecurityConfig;
+import com.vay.tasktracker.dto.auth.RegisterRequest;
+import com.vay.tasktracker.exception.GlobalExceptionHandler;
+import com.vay.tasktracker.exception.InvalidRefreshTokenException;
+import com.vay.tasktracker.model.User;
+import com.vay.tasktracker.security.JwtAuthenticationFilter;
+import com.vay.tasktracker.security.JwtTokenProvider;
+import com.vay.tasktracker.security.RefreshTokenService;
+import com.vay.tasktracker.security.TokenRevocationService;
+import com.vay.tasktracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AuthController.class)
+class AuthControllerTest {
+
+    private static final String REGISTER_BODY =
+            "{\"username\":\"john\",\"email\":\"john@example.com\",\"password\":\"password123\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AuthenticationManager authenticationManager;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockitoBean
+    private TokenRevocationService revocationService;
+
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockitoBean
+    private ThreadPoolTaskExecutor passwordHashingExecutor;
+
+    @Test
+    void register_IssuesTokenWithoutSecondAuthentication() throws Exception {
+        // given
+        User user = new User();
+        user.setUsername("john");
+        when(userService.registerUser(any(RegisterRequest.class))).thenReturn(user);
+        when(tokenProvider.generateToken(user)).thenReturn("jwt");
+        when(refreshTokenService.issue("john")).thenReturn("refresh");
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(passwordHashingExecutor).execute(any(Runnable.class));
+
+        // when
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REGISTER_BODY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwt"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh"))
+                .andExpect(jsonPath("$.username").value("john"));
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    void refresh_ValidToken_RotatesTokensWithoutAuthentication() throws Exception {
+        // given
+        User user = new User();
+        user.setUsername("john");
+        when(refreshTokenService.consume("old-refresh")).thenReturn("john");
+        when(userService.findByUsername("john")).thenReturn(user);
+        when(tokenProvider.generateToken(user)).thenReturn("jwt");
+        when(refreshTokenService.issue("john")).thenReturn("new-refresh");
+
+        // when/then
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"old-refresh\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwt"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh"));
+        verifyNoInteractions(authenticationManager);
+        verify(passwordHashingExecutor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void refresh_InvalidToken_ReturnsUnauthorized() throws Exception {
+        // given
+        when(refreshTokenService.consume("stale")).thenThrow(new InvalidRefreshTokenException("expired"));
+
+        // when/then
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"stale\"}"))
+                .andExpect(status().isUnauthorized());
+        verify(refreshTokenService, never()).issue(any());
+    }
+
+    @Test
+    void register_HashingPoolSaturated_ReturnsServiceUnavailable() throws Exception {
+        // given
+        doThrow(new TaskRejectedException("queue full")).when(passwordHashingExecutor).execute(any(Runnable.class));
+
+        // when/then
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REGISTER_BODY))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        verifyNoInteractions(userService);
+    }
+
+    @SpringBootConfiguration
+    @Import({AuthController.class, GlobalExceptionHandler.class, SecurityConfig.class, JwtAuthenticationFilter.class})
+    static class Config {
+    }
+}
@@ -0,0 +1,175 @@
+package com.vay.tasktracker.controller;
+
+import com.vay.tasktracker.config.ReactiveSecurityConfig;
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.dto.payload.TaskPage;
+import com.vay.tasktracker.exception.GlobalExceptionHandler;
+import com.vay.tasktracker.model.User;
+import com.vay.tasktracker.security.JwtReactiveAuthenticationManager;
+import com.vay.tasktracker.security.JwtTokenProvider;
+import com.vay.tasktracker.security.TokenRevocationService;
+import com.vay.tasktracker.service.ReactiveTaskService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveTaskController.class)
+@ActiveProfiles("reactive")
+class ReactiveTaskControllerTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveTaskService taskService;
+
+    @MockitoBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockitoBean
+    private TokenRevocationService revocationService;
+
+    @Test
+    void findAll_WithoutToken_ReturnsUnauthorized() {
+        // when/then
+        webTestClient.get().uri("/api/tasks")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void findAll_WithValidToken_ReturnsPage() {
+        // given
+        authenticate(Optional.of(principal()));
+        TaskDto task = new TaskDto(UUID.randomUUID(), "title", "description", Instant.parse("2030-01-01T00:00:00Z"));
+        when(taskService.findAll(eq(1L), any(), isNull(), eq(20))).thenReturn(Mono.just(new TaskPage(List.of(task), null)));
+
+        // when/then
+        webTestClient.get().uri("/api/tasks?limit=20")
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("Set-Cookie")
+                .expectBody()
+                .jsonPath("$.items[0].title").isEqualTo("title")
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void findAll_TokenWithoutUserClaims_ReturnsUnauthorized() {
+        // given
+        authenticate(Optional.empty());
+
+        // when/then
+        webTestClient.get().uri("/api/tasks")
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus().isUnauthorized();
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void findById_WhenIfNoneMatchesCurrentVersion_ReturnsNotModified() {
+        // given
+        authenticate(Optional.of(principal()));
+        UUID id = UUID.randomUUID();
+        when(taskService.findById(1L, id)).thenReturn(Mono.just(new TaskDto(id, "title", null, null, 4L)));
+
+        // when/then
+        webTestClient.get().uri("/api/tasks/{id}", id)
+                .header("Authorization", "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"4\"");
+        webTestClient.get().uri("/api/tasks/{id}", id)
+                .header("Authorization", "Bearer " + TOKEN)
+                .header("If-None-Match", "\"4\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void update_WithMalformedIfMatch_ReturnsPreconditionFailed() {
+        // given
+        authenticate(Optional.of(principal()));
+
+        // when/then
+        webTestClient.put().uri("/api/tasks/{id}", UUID.randomUUID())
+                .header("Authorization", "Bearer " + TOKEN)
+                .header("If-Match", "W/\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskDto(null, "title", null, null))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void export_StreamsTasksAsNdjson() {
+        // given
+        authenticate(Optional.of(principal()));
+        when(taskService.exportAll(1L)).thenReturn(Flux.just(
+                new TaskDto(UUID.randomUUID(), "first", null, null),
+                new TaskDto(UUID.randomUUID(), "second", null, null)));
+
+        // when
+        List<TaskDto> tasks = webTestClient.get().uri("/api/tasks/export")
+                .header("Authorization", "Bearer " + TOKEN)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // then
+        assertThat(tasks).extracting(TaskDto::title).containsExactly("first", "second");
+    }
+
+    private void authenticate(Optional<User> principal) {
+        Claims claims = Jwts.claims().setSubject("john");
+        claims.setIssuedAt(new Date());
+        when(tokenProvider.parseClaims(TOKEN)).thenReturn(Optional.of(claims));
+        when(tokenProvider.getPrincipal(claims)).thenReturn(principal);
+        when(revocationService.isRevokedAsync(eq("john"), any())).thenReturn(Mono.just(false));
+    }
+
+    private static User principal() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("john");
+        return user;
+    }
+
+    @SpringBootConfiguration
+    @Import({ReactiveTaskController.class, GlobalExceptionHandler.class, ReactiveSecurityConfig.class,
+            JwtReactiveAuthenticationManager.class})
+    static class Config {
+    }
+}
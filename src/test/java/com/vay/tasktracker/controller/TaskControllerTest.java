@@ -0,0 +1,112 @@
+package com.vay.tasktracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.dto.payload.TaskPage;
+import com.vay.tasktracker.model.User;
+import com.vay.tasktracker.service.TaskEventBroadcaster;
+import com.vay.tasktracker.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TaskControllerTest {
+
+    private static final Long OWNER_ID = 7L;
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-02T03:04:05.123456Z");
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private TaskEventBroadcaster eventBroadcaster;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TaskController(taskService, eventBroadcaster, new ObjectMapper()))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+        User owner = new User();
+        owner.setId(OWNER_ID);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(owner, null, owner.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findAll_WhenChangesSettled_SendsETagAndLastModified() throws Exception {
+        // given
+        when(taskService.lastModified(OWNER_ID)).thenReturn(LAST_MODIFIED);
+        when(taskService.findAll(eq(OWNER_ID), any(TaskFilter.class), any(), anyInt()))
+                .thenReturn(new TaskPage(List.of(), null));
+
+        // when/then
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli() / 1000 * 1000));
+    }
+
+    @Test
+    void findAll_WhenNotModifiedSince_ReturnsNotModified() throws Exception {
+        // given
+        when(taskService.lastModified(OWNER_ID)).thenReturn(LAST_MODIFIED);
+
+        // when/then
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED.toEpochMilli()))
+                .andExpect(status().isNotModified());
+        verify(taskService, never()).findAll(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void findAll_IssuesADifferentETagPerQuery() throws Exception {
+        // given
+        when(taskService.lastModified(OWNER_ID)).thenReturn(LAST_MODIFIED);
+        when(taskService.findAll(eq(OWNER_ID), any(TaskFilter.class), any(), anyInt()))
+                .thenReturn(new TaskPage(List.of(), null));
+
+        // when
+        String all = mockMvc.perform(get("/api/tasks"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String filtered = mockMvc.perform(get("/api/tasks").param("titlePrefix", "Report"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        assertThat(filtered).isNotEqualTo(all);
+        mockMvc.perform(get("/api/tasks").param("titlePrefix", "Report").header(HttpHeaders.IF_NONE_MATCH, filtered))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, filtered))
+                .andExpect(status().isOk());
+    }
+}
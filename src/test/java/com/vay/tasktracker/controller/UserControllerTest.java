@@ -0,0 +1,105 @@
+package com.vay.tasktracker.controller;
+
+import com.vay.tasktracker.config.SecurityConfig;
+import com.vay.tasktracker.exception.GlobalExceptionHandler;
+import com.vay.tasktracker.model.User;
+import com.vay.tasktracker.security.JwtAuthenticationFilter;
+import com.vay.tasktracker.security.JwtTokenProvider;
+import com.vay.tasktracker.security.TokenRevocationService;
+import com.vay.tasktracker.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserController.class)
+@TestPropertySource(properties = "app.jwt.stateless-principal=true")
+class UserControllerTest {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final String ROLE_BODY = "{\"role\":\"ADMIN\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockitoBean
+    private TokenRevocationService revocationService;
+
+    @Test
+    void updateRole_AsAdmin_ChangesRole() throws Exception {
+        // given
+        authenticateAs(User.Role.ADMIN);
+
+        // when/then
+        mockMvc.perform(put("/api/users/john/role")
+                        .header("Authorization", "Bearer " + TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ROLE_BODY))
+                .andExpect(status().isNoContent());
+        verify(userService).updateRole("john", User.Role.ADMIN);
+    }
+
+    @Test
+    void updateRole_AsUser_IsForbidden() throws Exception {
+        // given
+        authenticateAs(User.Role.USER);
+
+        // when/then
+        mockMvc.perform(put("/api/users/john/role")
+                        .header("Authorization", "Bearer " + TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ROLE_BODY))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void updateRole_UnknownUser_ReturnsNotFound() throws Exception {
+        // given
+        authenticateAs(User.Role.ADMIN);
+        when(userService.updateRole(any(), any())).thenThrow(new UsernameNotFoundException("User not found: john"));
+
+        // when/then
+        mockMvc.perform(put("/api/users/john/role")
+                        .header("Authorization", "Bearer " + TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ROLE_BODY))
+                .andExpect(status().isNotFound());
+    }
+
+    private void authenticateAs(User.Role role) {
+        Claims claims = Jwts.claims().setSubject("admin");
+        User principal = new User();
+        principal.setId(1L);
+        principal.setUsername("admin");
+        principal.setRole(role);
+        when(tokenProvider.parseClaims(TOKEN)).thenReturn(Optional.of(claims));
+        when(tokenProvider.getPrincipal(claims)).thenReturn(Optional.of(principal));
+    }
+
+    @SpringBootConfiguration
+    @Import({UserController.class, GlobalExceptionHandler.class, SecurityConfig.class, JwtAuthenticationFilter.class})
+    static class Config {
+    }
+}
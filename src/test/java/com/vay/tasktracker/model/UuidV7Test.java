@@ -0,0 +1,55 @@
+package com.vay.tasktracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void next_shouldProduceVersion7WithRfcVariantAndCurrentTimestamp() {
+        // given
+        long before = System.currentTimeMillis();
+
+        // when
+        UUID id = UuidV7.next();
+
+        // then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void next_shouldBeStrictlyIncreasingInDatabaseOrder() {
+        // given
+        List<UUID> ids = new ArrayList<>();
+
+        // when
+        IntStream.range(0, 100_000).forEach(i -> ids.add(UuidV7.next()));
+
+        // then
+        assertThat(ids).isSortedAccordingTo(Comparator.comparing(UUID::toString));
+        assertThat(Set.copyOf(ids)).hasSize(ids.size());
+    }
+
+    @Test
+    void next_whenCalledConcurrently_shouldNotProduceDuplicates() {
+        // given
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        // when
+        IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(UuidV7.next()));
+
+        // then
+        assertThat(ids).hasSize(200_000);
+    }
+}
@@ -0,0 +1,218 @@
+package com.vay.tasktracker.repository;
+
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.model.Task;
+import com.vay.tasktracker.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=H2",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.tasks.batch-size=50"
+})
+@ContextConfiguration(classes = TaskRepositoryBatchingTest.Config.class)
+class TaskRepositoryBatchingTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = user("owner");
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_shouldInsertInJdbcBatches() {
+        // given
+        List<Task> tasks = IntStream.range(0, 120)
+                .mapToObj(i -> task("Task " + i))
+                .toList();
+
+        // when
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+
+        // then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void dirtyEntities_shouldBeUpdatedInJdbcBatches() {
+        // given
+        List<Task> tasks = taskRepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> task("Task " + i))
+                .toList());
+        entityManager.flush();
+        statistics.clear();
+
+        // when
+        tasks.forEach(task -> task.setTitle(task.getTitle() + " updated"));
+        entityManager.flush();
+
+        // then
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(100);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void patch_shouldUpdateOnlySuppliedColumnsInOneStatement() {
+        // given
+        Task task = task("Task");
+        task.setDescription("Description");
+        task.setExpiryDate(task.getExpiryDate().truncatedTo(ChronoUnit.SECONDS));
+        UUID id = taskRepository.saveAndFlush(task).getId();
+        Instant expiryDate = task.getExpiryDate();
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        int updated = taskRepository.patch(id, owner.getId(), new TaskDto(null, "Patched", null, null), null);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        Task patched = taskRepository.findById(id).orElseThrow();
+        assertThat(patched.getTitle()).isEqualTo("Patched");
+        assertThat(patched.getDescription()).isEqualTo("Description");
+        assertThat(patched.getExpiryDate()).isEqualTo(expiryDate);
+        assertThat(patched.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void patch_whenVersionIsStale_shouldReportNoRowsUpdated() {
+        // given
+        UUID id = taskRepository.saveAndFlush(task("Task")).getId();
+
+        // when
+        int updated = taskRepository.patch(id, owner.getId(), new TaskDto(null, "Patched", null, null), 5L);
+
+        // then
+        assertThat(updated).isZero();
+    }
+
+    @Test
+    void replaceAll_shouldWriteQueuedStateAndVersionInOneBatchWhenExpectedVersionMatches() {
+        // given
+        List<Task> tasks = taskRepository.saveAllAndFlush(List.of(task("First"), task("Second")));
+        entityManager.clear();
+
+        // when
+        int[] updated = taskRepository.replaceAll(List.of(
+                new TaskPatchRepository.VersionedUpdate(
+                        new TaskDto(tasks.get(0).getId(), "First queued", null, null, 7L), 0L),
+                new TaskPatchRepository.VersionedUpdate(
+                        new TaskDto(tasks.get(1).getId(), "Second queued", null, null, 7L), 6L)));
+
+        // then
+        assertThat(updated).containsExactly(1, 0);
+        assertThat(taskRepository.findAllById(tasks.stream().map(Task::getId).toList()))
+                .extracting(Task::getTitle, Task::getDescription, Task::getVersion)
+                .containsExactlyInAnyOrder(
+                        tuple("First queued", null, 7L),
+                        tuple("Second", null, 0L));
+    }
+
+    @Test
+    void patch_whenTaskDoesNotExist_shouldReportNoRowsUpdated() {
+        // when
+        int updated = taskRepository.patch(UUID.randomUUID(), owner.getId(), new TaskDto(null, "Patched", null, null), null);
+
+        // then
+        assertThat(updated).isZero();
+    }
+
+    @Test
+    void patch_whenTaskBelongsToAnotherOwner_shouldReportNoRowsUpdated() {
+        // given
+        UUID id = taskRepository.saveAndFlush(task("Task")).getId();
+        User stranger = user("stranger");
+
+        // when
+        int updated = taskRepository.patch(id, stranger.getId(), new TaskDto(null, "Patched", null, null), null);
+
+        // then
+        assertThat(updated).isZero();
+        assertThat(taskRepository.findByIdAndOwnerId(id, stranger.getId())).isEmpty();
+        assertThat(taskRepository.findByIdAndOwnerId(id, owner.getId())).isPresent();
+    }
+
+    @Test
+    void findChangedSince_shouldPageByUpdatedAtThenId() {
+        // given
+        List<Task> tasks = taskRepository.saveAllAndFlush(IntStream.range(0, 3)
+                .mapToObj(i -> task("Task " + i))
+                .toList());
+        Instant earliest = tasks.stream().map(Task::getUpdatedAt).min(Comparator.naturalOrder()).orElseThrow();
+        Instant until = Instant.now().plusSeconds(1);
+
+        // when
+        List<Task> page = taskRepository.findChangedSince(owner.getId(), Instant.EPOCH, new UUID(0, 0), until, Limit.of(2));
+        List<Task> rest = taskRepository.findChangedSince(owner.getId(),
+                page.get(1).getUpdatedAt(), page.get(1).getId(), until, Limit.of(2));
+
+        // then
+        assertThat(page).hasSize(2);
+        assertThat(page.get(0).getUpdatedAt()).isEqualTo(earliest);
+        assertThat(rest).hasSize(1).doesNotContainAnyElementsOf(page);
+        assertThat(taskRepository.findChangedSince(owner.getId(), Instant.EPOCH, new UUID(0, 0), Instant.EPOCH, Limit.of(2))).isEmpty();
+    }
+
+    private Task task(String title) {
+        Task task = new Task();
+        task.setOwner(owner);
+        task.setTitle(title);
+        task.setExpiryDate(Instant.now().plusSeconds(3600));
+        return task;
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        entityManager.persist(user);
+        entityManager.flush();
+        return user;
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Task.class)
+    @EnableJpaRepositories(basePackageClasses = TaskRepository.class)
+    static class Config {
+    }
+}
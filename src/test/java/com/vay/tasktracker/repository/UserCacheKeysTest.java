@@ -0,0 +1,46 @@
+package com.vay.tasktracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheKeysTest {
+
+    @Test
+    void email_shouldNormaliseIndependentlyOfDefaultLocale() {
+        // given
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        // when
+        try {
+            String key = UserCacheKeys.email("TITLE@Example.COM");
+
+            // then
+            assertThat(key).isEqualTo("email:title@example.com");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void email_whenNull_shouldNotThrow() {
+        // when/then
+        assertThat(UserCacheKeys.email(null)).isEqualTo("email:");
+    }
+
+    @Test
+    void username_shouldNotCollideWithEmailKey() {
+        // given
+        String email = "alice@example.com";
+
+        // when
+        String usernameKey = UserCacheKeys.username(email);
+        String emailKey = UserCacheKeys.email(email);
+
+        // then
+        assertThat(usernameKey).isEqualTo("username:alice@example.com").isNotEqualTo(emailKey);
+    }
+}
@@ -0,0 +1,150 @@
+package com.vay.tasktracker.security;
+
+import com.vay.tasktracker.model.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = newProvider(SECRET, 60_000);
+    }
+
+    @Test
+    void parseClaims_ValidToken_ReturnsSubject() {
+        // given
+        String token = tokenProvider.generateToken(authentication("john"));
+
+        // when
+        Optional<Claims> claims = tokenProvider.parseClaims(token);
+
+        // then
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("john");
+    }
+
+    @Test
+    void getIssuedAt_ReturnsMillisecondPrecision() {
+        // given
+        long before = System.currentTimeMillis();
+        Claims claims = tokenProvider.parseClaims(tokenProvider.generateToken(authentication("john"))).orElseThrow();
+
+        // when
+        Date issuedAt = tokenProvider.getIssuedAt(claims);
+
+        // then
+        assertThat(issuedAt.getTime()).isBetween(before, System.currentTimeMillis());
+        assertThat(claims.getIssuedAt().getTime()).isEqualTo(issuedAt.getTime() / 1000 * 1000);
+    }
+
+    @Test
+    void parseClaims_SameTokenTwice_ReturnsCachedClaims() {
+        // given
+        String token = tokenProvider.generateToken(authentication("john"));
+        Claims first = tokenProvider.parseClaims(token).orElseThrow();
+
+        // when
+        Claims second = tokenProvider.parseClaims(token).orElseThrow();
+
+        // then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void parseClaims_TokenSignedWithOtherKey_ReturnsEmpty() {
+        // given
+        JwtTokenProvider otherProvider = newProvider("fedcba9876543210fedcba9876543210fedcba9876543210", 60_000);
+        String token = otherProvider.generateToken(authentication("john"));
+
+        // when
+        Optional<Claims> claims = tokenProvider.parseClaims(token);
+
+        // then
+        assertThat(claims).isEmpty();
+    }
+
+    @Test
+    void parseClaims_ExpiredToken_ReturnsEmpty() {
+        // given
+        JwtTokenProvider expiringProvider = newProvider(SECRET, -1_000);
+        String token = expiringProvider.generateToken(authentication("john"));
+
+        // when
+        Optional<Claims> claims = tokenProvider.parseClaims(token);
+
+        // then
+        assertThat(claims).isEmpty();
+    }
+
+    @Test
+    void parseClaims_MalformedToken_ReturnsEmpty() {
+        // when
+        Optional<Claims> claims = tokenProvider.parseClaims("not-a-jwt");
+
+        // then
+        assertThat(claims).isEmpty();
+    }
+
+    @Test
+    void getPrincipal_TokenForPersistedUser_RestoresIdAndRole() {
+        // given
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("john");
+        user.setRole(User.Role.ADMIN);
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        Claims claims = tokenProvider.parseClaims(token).orElseThrow();
+
+        // when
+        Optional<User> principal = tokenProvider.getPrincipal(claims);
+
+        // then
+        assertThat(principal).isPresent();
+        assertThat(principal.get().getId()).isEqualTo(42L);
+        assertThat(principal.get().getUsername()).isEqualTo("john");
+        assertThat(principal.get().getRole()).isEqualTo(User.Role.ADMIN);
+    }
+
+    @Test
+    void getPrincipal_TokenWithoutUserClaims_ReturnsEmpty() {
+        // given
+        String token = tokenProvider.generateToken(authentication("john"));
+        Claims claims = tokenProvider.parseClaims(token).orElseThrow();
+
+        // when
+        Optional<User> principal = tokenProvider.getPrincipal(claims);
+
+        // then
+        assertThat(principal).isEmpty();
+    }
+
+    private static JwtTokenProvider newProvider(String secret, int expirationMs) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", expirationMs);
+        ReflectionTestUtils.setField(provider, "verifiedTokenCacheSize", 100L);
+        provider.init();
+        return provider;
+    }
+
+    private static Authentication authentication(String username) {
+        var user = new org.springframework.security.core.userdetails.User(username, "password", List.of());
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
@@ -0,0 +1,120 @@
+package com.vay.tasktracker.security;
+
+import com.vay.tasktracker.exception.InvalidRefreshTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final String TOKEN = "opaque-refresh-token";
+    private static final String TOKEN_KEY = "task_tracker:refresh-token:" + TokenHashes.sha256(TOKEN);
+    private static final String USER_KEY = "task_tracker:refresh-tokens:john";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "expiration", Duration.ofDays(30));
+    }
+
+    @Test
+    void issue_StoresHashedTokenAndIndexesItByUser() {
+        // given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+
+        // when
+        String token = refreshTokenService.issue("john");
+
+        // then
+        String tokenHash = TokenHashes.sha256(token);
+        verify(valueOperations).set("task_tracker:refresh-token:" + tokenHash, "john", Duration.ofDays(30));
+        verify(setOperations).add(USER_KEY, tokenHash);
+        verify(redisTemplate).expire(USER_KEY, Duration.ofDays(30));
+        assertThat(token).doesNotContain(tokenHash);
+    }
+
+    @Test
+    void consume_LiveToken_ReturnsUsername() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(TOKEN_KEY)))).thenReturn("john");
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+
+        // when
+        String username = refreshTokenService.consume(TOKEN);
+
+        // then
+        assertThat(username).isEqualTo("john");
+        verify(setOperations).remove(USER_KEY, TokenHashes.sha256(TOKEN));
+    }
+
+    @Test
+    void consume_UnknownToken_ThrowsInvalidRefreshToken() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(TOKEN_KEY)))).thenReturn(null);
+
+        // when/then
+        assertThatThrownBy(() -> refreshTokenService.consume(TOKEN))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void consume_AlreadyUsedToken_RevokesAllSessionsOfUser() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(TOKEN_KEY)))).thenReturn("!john");
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(USER_KEY)).thenReturn(Set.of("other-hash"));
+
+        // when/then
+        assertThatThrownBy(() -> refreshTokenService.consume(TOKEN))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        verify(redisTemplate).delete(List.of(USER_KEY, "task_tracker:refresh-token:other-hash"));
+        verify(tokenRevocationService).revokeTokens("john");
+    }
+
+    @Test
+    void revoke_LiveToken_DeletesItAndItsIndexEntry() {
+        // given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(valueOperations.getAndDelete(TOKEN_KEY)).thenReturn("john");
+
+        // when
+        refreshTokenService.revoke(TOKEN);
+
+        // then
+        verify(setOperations).remove(USER_KEY, TokenHashes.sha256(TOKEN));
+    }
+}
@@ -0,0 +1,134 @@
+package com.vay.tasktracker.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final String KEY = "task_tracker:tokens-revoked-before-ms:john";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revocationService, "jwtExpirationInMs", 60_000L);
+        ReflectionTestUtils.setField(revocationService, "maxSize", 100L);
+        ReflectionTestUtils.setField(revocationService, "checkTtl", Duration.ofSeconds(30));
+        revocationService.init();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void isRevoked_NoRevocationRecorded_ReturnsFalse() {
+        // given
+        when(valueOperations.get(KEY)).thenReturn(null);
+
+        // when
+        boolean revoked = revocationService.isRevoked("john", new Date());
+
+        // then
+        assertThat(revoked).isFalse();
+    }
+
+    @Test
+    void isRevoked_TokenIssuedBeforeCutoff_ReturnsTrue() {
+        // given
+        Instant cutoff = Instant.now();
+        when(valueOperations.get(KEY)).thenReturn(Long.toString(cutoff.toEpochMilli()));
+
+        // when
+        boolean revoked = revocationService.isRevoked("john", Date.from(cutoff.minusSeconds(60)));
+
+        // then
+        assertThat(revoked).isTrue();
+    }
+
+    @Test
+    void isRevoked_TokenIssuedAfterCutoff_ReturnsFalse() {
+        // given
+        Instant cutoff = Instant.now().minusSeconds(60);
+        when(valueOperations.get(KEY)).thenReturn(Long.toString(cutoff.toEpochMilli()));
+
+        // when
+        boolean revoked = revocationService.isRevoked("john", new Date());
+
+        // then
+        assertThat(revoked).isFalse();
+    }
+
+    @Test
+    void isRevoked_SecondPrecisionTokenIssuedInTheRevocationSecond_ReturnsTrue() {
+        // given
+        Instant cutoff = Instant.parse("2026-01-02T03:04:05.900Z");
+        when(valueOperations.get(KEY)).thenReturn(Long.toString(cutoff.toEpochMilli()));
+
+        // when
+        boolean revoked = revocationService.isRevoked("john", Date.from(Instant.parse("2026-01-02T03:04:05Z")));
+
+        // then
+        assertThat(revoked).isTrue();
+    }
+
+    @Test
+    void isRevoked_TokenIssuedLaterInTheRevocationSecond_ReturnsFalse() {
+        // given
+        Instant cutoff = Instant.parse("2026-01-02T03:04:05.100Z");
+        when(valueOperations.get(KEY)).thenReturn(Long.toString(cutoff.toEpochMilli()));
+
+        // when
+        boolean revoked = revocationService.isRevoked("john", Date.from(cutoff.plusMillis(200)));
+
+        // then
+        assertThat(revoked).isFalse();
+    }
+
+    @Test
+    void isRevoked_RepeatedChecks_HitRedisOnce() {
+        // given
+        when(valueOperations.get(KEY)).thenReturn(null);
+
+        // when
+        revocationService.isRevoked("john", new Date());
+        revocationService.isRevoked("john", new Date());
+
+        // then
+        verify(valueOperations, times(1)).get(KEY);
+    }
+
+    @Test
+    void revokeTokens_StoresCutoffAndAppliesLocallyAtOnce() {
+        // given
+        Date issuedAt = Date.from(Instant.now().minusSeconds(5));
+
+        // when
+        revocationService.revokeTokens("john");
+
+        // then
+        verify(valueOperations).set(eq(KEY), anyString(), eq(Duration.ofMinutes(1)));
+        assertThat(revocationService.isRevoked("john", issuedAt)).isTrue();
+        verify(valueOperations, never()).get(any());
+    }
+}
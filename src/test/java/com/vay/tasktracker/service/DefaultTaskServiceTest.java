@@ -1,128 +1,325 @@
 package com.vay.tasktracker.service;
 
+import com.vay.tasktracker.dto.payload.TaskBatchResult;
+import com.vay.tasktracker.dto.payload.TaskChanges;
 import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import com.vay.tasktracker.dto.payload.TaskFilter;
+import com.vay.tasktracker.dto.payload.TaskPage;
+import com.vay.tasktracker.exception.InvalidCursorException;
 import com.vay.tasktracker.exception.TaskNotFoundException;
+import com.vay.tasktracker.exception.TaskVersionMismatchException;
+import com.vay.tasktracker.exception.WatermarkExpiredException;
 import com.vay.tasktracker.mapper.TaskMapper;
 import com.vay.tasktracker.model.Task;
+import com.vay.tasktracker.model.TaskTombstone;
+import com.vay.tasktracker.model.User;
 import com.vay.tasktracker.repository.TaskRepository;
+import com.vay.tasktracker.repository.TaskTombstoneRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultTaskServiceTest {
 
+    private static final Long OWNER_ID = 7L;
+
     @Mock
     private TaskRepository taskRepository;
 
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private TaskWriteBehindQueue writeBehindQueue;
+
+    @Mock
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DefaultTaskService taskService;
 
     private Task task;
     private TaskDto taskDto;
     private UUID taskId;
+    private String cacheKey;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(taskService, "batchSize", 2);
+        ReflectionTestUtils.setField(taskService, "settleTime", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(taskService, "tombstoneRetention", Duration.ofDays(30));
+
         taskId = UUID.randomUUID();
+        cacheKey = OWNER_ID + ":" + taskId;
         task = new Task();
         task.setId(taskId);
         task.setTitle("Test Task");
         task.setDescription("Test Description");
         task.setExpiryDate(Instant.now().plusSeconds(3600));
+        task.setVersion(3L);
 
         taskDto = new TaskDto(
+            task.getId(),
             task.getTitle(),
             task.getDescription(),
-            task.getExpiryDate()
+            task.getExpiryDate(),
+            task.getVersion()
         );
     }
 
     @Test
-    void findAll_shouldReturnAllTasks() {
+    void findAll_whenLastPage_shouldReturnTasksWithoutCursor() {
         // given
         List<Task> tasks = List.of(task);
         List<TaskDto> expectedDtos = List.of(taskDto);
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.<Task, List<Task>>findBy(any(Specification.class), any())).thenReturn(tasks);
         when(taskMapper.toTaskDtoList(tasks)).thenReturn(expectedDtos);
 
         // when
-        List<TaskDto> result = taskService.findAll();
+        TaskPage result = taskService.findAll(OWNER_ID, new TaskFilter(null, null, null), null, 10);
+
+        // then
+        assertThat(result.items()).isEqualTo(expectedDtos);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void findAll_whenMoreTasksExist_shouldReturnCursorOfLastTask() {
+        // given
+        Task next = new Task();
+        next.setId(UUID.randomUUID());
+        when(taskRepository.<Task, List<Task>>findBy(any(Specification.class), any())).thenReturn(List.of(task, next));
+        when(taskMapper.toTaskDtoList(List.of(task))).thenReturn(List.of(taskDto));
+
+        // when
+        TaskPage result = taskService.findAll(OWNER_ID, new TaskFilter(null, null, null), null, 1);
+
+        // then
+        assertThat(result.items()).containsExactly(taskDto);
+        assertThat(result.nextCursor()).isEqualTo(TaskCursor.of(taskId).encode());
+        assertThat(TaskCursor.decode(result.nextCursor(), false)).isEqualTo(TaskCursor.of(taskId));
+    }
+
+    @Test
+    void findAll_whenExpiryFilterPresent_shouldReturnCursorOfLastExpiryAndId() {
+        // given
+        Task next = new Task();
+        next.setId(UUID.randomUUID());
+        task.setExpiryDate(task.getExpiryDate().truncatedTo(ChronoUnit.MICROS));
+        when(taskRepository.<Task, List<Task>>findBy(any(Specification.class), any())).thenReturn(List.of(task, next));
+        when(taskMapper.toTaskDtoList(List.of(task))).thenReturn(List.of(taskDto));
+
+        // when
+        TaskPage result = taskService.findAll(OWNER_ID, new TaskFilter(Instant.now(), null, null), null, 1);
+
+        // then
+        assertThat(TaskCursor.decode(result.nextCursor(), true))
+            .isEqualTo(new TaskCursor(task.getExpiryDate(), taskId));
+        assertThatThrownBy(() -> taskService.findAll(OWNER_ID, new TaskFilter(null, null, null), result.nextCursor(), 1))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void findAll_whenCursorIsMalformed_shouldThrowException() {
+        // when/then
+        assertThatThrownBy(() -> taskService.findAll(OWNER_ID, new TaskFilter(null, null, null), "not-a-cursor", 10))
+            .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void lastModified_shouldReturnNewestSettledChange() {
+        // given
+        Instant updated = Instant.now().minusSeconds(60);
+        Instant deleted = Instant.now().minusSeconds(30);
+        when(taskRepository.findLastUpdatedAt(OWNER_ID)).thenReturn(updated);
+        when(tombstoneRepository.findLastDeletedAt(OWNER_ID)).thenReturn(deleted);
+
+        // when/then
+        assertThat(taskService.lastModified(OWNER_ID)).isEqualTo(deleted);
+    }
+
+    @Test
+    void lastModified_whenNewestChangeInsideSettleTime_shouldReturnNull() {
+        // given
+        when(taskRepository.findLastUpdatedAt(OWNER_ID)).thenReturn(Instant.now().minusSeconds(60));
+        when(tombstoneRepository.findLastDeletedAt(OWNER_ID)).thenReturn(Instant.now().minusSeconds(1));
+
+        // when/then
+        assertThat(taskService.lastModified(OWNER_ID)).isNull();
+    }
+
+    @Test
+    void findChanges_shouldMergeUpdatesAndTombstonesInWatermarkOrder() {
+        // given
+        Instant base = Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        task.setUpdatedAt(base.plusMillis(2));
+        UUID deletedFirst = UUID.randomUUID();
+        UUID deletedLast = UUID.randomUUID();
+        String since = new TaskWatermark(base, TaskWatermark.MIN_ID).encode();
+        when(taskRepository.findChangedSince(eq(OWNER_ID), eq(base), eq(TaskWatermark.MIN_ID), any(), eq(Limit.of(3))))
+            .thenReturn(List.of(task));
+        when(tombstoneRepository.findDeletedSince(eq(OWNER_ID), eq(base), eq(TaskWatermark.MIN_ID), any(), eq(Limit.of(3))))
+            .thenReturn(List.of(
+                new TaskTombstone(deletedFirst, OWNER_ID, base.plusMillis(1)),
+                new TaskTombstone(deletedLast, OWNER_ID, base.plusMillis(3))));
+        when(taskMapper.toTaskDtoList(List.of(task))).thenReturn(List.of(taskDto));
+
+        // when
+        TaskChanges changes = taskService.findChanges(OWNER_ID, since, 2);
+
+        // then
+        assertThat(changes.updated()).containsExactly(taskDto);
+        assertThat(changes.deleted()).containsExactly(deletedFirst);
+        assertThat(changes.hasMore()).isTrue();
+        assertThat(TaskWatermark.decode(changes.watermark())).isEqualTo(new TaskWatermark(base.plusMillis(2), taskId));
+    }
+
+    @Test
+    void findChanges_whenCaughtUp_shouldAdvanceWatermarkToSettledTime() {
+        // given
+        when(taskRepository.findChangedSince(any(), any(), any(), any(), any())).thenReturn(List.of());
+        when(taskMapper.toTaskDtoList(List.of())).thenReturn(List.of());
+        Instant before = Instant.now().minusSeconds(5);
+
+        // when
+        TaskChanges changes = taskService.findChanges(OWNER_ID, null, 10);
 
         // then
-        assertThat(result).isEqualTo(expectedDtos);
-        verify(taskRepository).findAll();
-        verify(taskMapper).toTaskDtoList(tasks);
+        TaskWatermark watermark = TaskWatermark.decode(changes.watermark());
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(watermark.id()).isEqualTo(TaskWatermark.MAX_ID);
+        assertThat(watermark.timestamp()).isBetween(before.minusMillis(1), Instant.now().minusSeconds(5));
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void findChanges_whenWatermarkOlderThanTombstoneRetention_shouldThrowException() {
+        // given
+        String since = new TaskWatermark(Instant.now().minus(Duration.ofDays(31)), taskId).encode();
+
+        // when/then
+        assertThatThrownBy(() -> taskService.findChanges(OWNER_ID, since, 10))
+            .isInstanceOf(WatermarkExpiredException.class);
+        verifyNoInteractions(taskRepository, tombstoneRepository);
     }
 
     @Test
     void findById_whenTaskExists_shouldReturnTask() {
         // given
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(Optional.of(task));
         when(taskMapper.toTaskDto(task)).thenReturn(taskDto);
 
         // when
-        TaskDto result = taskService.findById(taskId);
+        TaskDto result = taskService.findById(OWNER_ID, taskId);
 
         // then
         assertThat(result).isEqualTo(taskDto);
-        verify(taskRepository).findById(taskId);
+        verify(taskRepository).findByIdAndOwnerId(taskId, OWNER_ID);
         verify(taskMapper).toTaskDto(task);
     }
 
     @Test
     void findById_whenTaskDoesNotExist_shouldThrowException() {
         // given
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(Optional.empty());
 
         // when/then
-        assertThatThrownBy(() -> taskService.findById(taskId))
+        assertThatThrownBy(() -> taskService.findById(OWNER_ID, taskId))
             .isInstanceOf(TaskNotFoundException.class)
             .hasMessageContaining(taskId.toString());
     }
 
     @Test
-    void create_shouldSaveNewTask() {
+    void exportAll_shouldPassEachTaskToConsumerAndDetachIt() {
         // given
+        when(taskRepository.streamAllByOwnerId(OWNER_ID)).thenReturn(Stream.of(task));
+        when(taskMapper.toTaskDto(task)).thenReturn(taskDto);
+        List<TaskDto> exported = new ArrayList<>();
+
+        // when
+        taskService.exportAll(OWNER_ID, exported::add);
+
+        // then
+        assertThat(exported).containsExactly(taskDto);
+        verify(entityManager).detach(task);
+    }
+
+    @Test
+    void create_shouldSaveNewTaskForOwnerAndPublishEvent() {
+        // given
+        User owner = new User();
+        when(entityManager.getReference(User.class, OWNER_ID)).thenReturn(owner);
         when(taskMapper.toEntity(taskDto)).thenReturn(task);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskMapper.toTaskDto(task)).thenReturn(taskDto);
 
         // when
-        taskService.create(taskDto);
+        taskService.create(OWNER_ID, taskDto);
 
         // then
         verify(taskMapper).toEntity(taskDto);
         verify(taskRepository).save(task);
+        assertThat(task.getOwner()).isSameAs(owner);
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEvent.Type.CREATED, OWNER_ID, taskId, taskDto));
     }
 
     @Test
     void update_whenTaskExists_shouldUpdateTask() {
         // given
         TaskDto updatedDto = new TaskDto(
+            null,
             "Updated Title",
             "Updated Description",
             Instant.now().plusSeconds(7200)
         );
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(Optional.of(task));
 
         // when
-        taskService.update(taskId, updatedDto);
+        taskService.update(OWNER_ID, taskId, updatedDto, null);
 
         // then
         assertThat(task.getTitle()).isEqualTo(updatedDto.title());
@@ -134,21 +331,278 @@ class DefaultTaskServiceTest {
     @Test
     void update_whenTaskDoesNotExist_shouldThrowException() {
         // given
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(Optional.empty());
 
         // when/then
-        assertThatThrownBy(() -> taskService.update(taskId, taskDto))
+        assertThatThrownBy(() -> taskService.update(OWNER_ID, taskId, taskDto, null))
             .isInstanceOf(TaskNotFoundException.class)
             .hasMessageContaining(taskId.toString());
         verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
-    void delete_shouldDeleteTask() {
+    void update_whenIfMatchVersionIsStale_shouldThrowPreconditionFailure() {
+        // given
+        when(taskRepository.findByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(Optional.of(task));
+
+        // when/then
+        assertThatThrownBy(() -> taskService.update(OWNER_ID, taskId, taskDto, 2L))
+            .isInstanceOf(TaskVersionMismatchException.class);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void update_whenConcurrentWriteWinsAfterIfMatchCheck_shouldThrowPreconditionFailure() {
+        // given
+        when(taskRepository.findByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(Optional.of(task));
+        when(taskRepository.save(task)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, taskId));
+
+        // when/then
+        assertThatThrownBy(() -> taskService.update(OWNER_ID, taskId, taskDto, 3L))
+            .isInstanceOf(TaskVersionMismatchException.class);
+    }
+
+    @Test
+    void update_whenWriteBehindEnabled_shouldEnqueueAndCacheNewState() {
+        // given
+        ReflectionTestUtils.setField(taskService, "writeBehind", true);
+        TaskDto updatedDto = new TaskDto(null, "Updated Title", null, null);
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+        when(cache.get(cacheKey, TaskDto.class)).thenReturn(taskDto);
+
+        // when
+        taskService.update(OWNER_ID, taskId, updatedDto, 3L);
+
+        // then
+        TaskDto expected = new TaskDto(taskId, "Updated Title", null, null, 4L);
+        verify(writeBehindQueue).enqueue(OWNER_ID, taskId, expected, 3L, false);
+        verify(cache).put(cacheKey, expected);
+        verify(taskRepository, never()).findByIdAndOwnerId(any(), any());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void update_whenWriteBehindEnabledAndTaskDoesNotExist_shouldThrowException() {
+        // given
+        ReflectionTestUtils.setField(taskService, "writeBehind", true);
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+        when(taskRepository.findByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(Optional.empty());
+
+        // when/then
+        assertThatThrownBy(() -> taskService.update(OWNER_ID, taskId, taskDto, null))
+            .isInstanceOf(TaskNotFoundException.class);
+        verifyNoInteractions(writeBehindQueue);
+        verify(cache, never()).put(any(), any());
+    }
+
+    @Test
+    void patch_shouldUpdateInOneStatementAndEvictCache() {
+        // given
+        TaskDto changes = new TaskDto(null, "Patched", null, null);
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+        when(taskRepository.patch(taskId, OWNER_ID, changes, null)).thenReturn(1);
+
+        // when
+        taskService.patch(OWNER_ID, taskId, changes, null);
+
+        // then
+        verify(cache).evict(cacheKey);
+        verify(taskRepository, never()).findByIdAndOwnerId(any(), any());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void patch_whenNoRowUpdated_shouldThrowException() {
+        // given
+        TaskDto changes = new TaskDto(null, "Patched", null, null);
+        when(taskRepository.patch(taskId, OWNER_ID, changes, null)).thenReturn(0);
+
+        // when/then
+        assertThatThrownBy(() -> taskService.patch(OWNER_ID, taskId, changes, null))
+            .isInstanceOf(TaskNotFoundException.class)
+            .hasMessageContaining(taskId.toString());
+    }
+
+    @Test
+    void patch_whenIfMatchVersionIsStale_shouldThrowPreconditionFailure() {
+        // given
+        TaskDto changes = new TaskDto(null, "Patched", null, null);
+        when(taskRepository.patch(taskId, OWNER_ID, changes, 2L)).thenReturn(0);
+        when(taskRepository.existsByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(true);
+
+        // when/then
+        assertThatThrownBy(() -> taskService.patch(OWNER_ID, taskId, changes, 2L))
+            .isInstanceOf(TaskVersionMismatchException.class);
+    }
+
+    @Test
+    void patch_whenWriteBehindEnabled_shouldEnqueuePartialUpdateAndCacheMergedState() {
+        // given
+        ReflectionTestUtils.setField(taskService, "writeBehind", true);
+        TaskDto changes = new TaskDto(null, "Patched", null, null);
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+        when(cache.get(cacheKey, TaskDto.class)).thenReturn(taskDto);
+
+        // when
+        taskService.patch(OWNER_ID, taskId, changes, null);
+
+        // then
+        verify(writeBehindQueue).enqueue(OWNER_ID, taskId, new TaskDto(taskId, "Patched", null, null, 4L), 3L, true);
+        verify(cache).put(cacheKey, new TaskDto(taskId, "Patched", taskDto.description(), taskDto.expiryDate(), 4L));
+        verify(taskRepository, never()).patch(any(), any(), any(), any());
+    }
+
+    @Test
+    void delete_shouldDeleteTaskAndRecordTombstone() {
+        // given
+        when(taskRepository.removeByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(1);
+
+        // when
+        taskService.delete(OWNER_ID, taskId, null);
+
+        // then
+        ArgumentCaptor<TaskTombstone> tombstone = ArgumentCaptor.forClass(TaskTombstone.class);
+        verify(entityManager).persist(tombstone.capture());
+        assertThat(tombstone.getValue().getTaskId()).isEqualTo(taskId);
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEvent.Type.DELETED, OWNER_ID, taskId, null));
+    }
+
+    @Test
+    void delete_whenTaskDoesNotExist_shouldNotRecordTombstone() {
+        // given
+        when(taskRepository.removeByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(0);
+
+        // when
+        taskService.delete(OWNER_ID, taskId, null);
+
+        // then
+        verify(entityManager, never()).persist(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void delete_whenIfMatchVersionIsStale_shouldThrowPreconditionFailure() {
+        // given
+        when(taskRepository.deleteByIdAndOwnerIdAndVersion(taskId, OWNER_ID, 2L)).thenReturn(0);
+        when(taskRepository.existsByIdAndOwnerId(taskId, OWNER_ID)).thenReturn(true);
+
+        // when/then
+        assertThatThrownBy(() -> taskService.delete(OWNER_ID, taskId, 2L))
+            .isInstanceOf(TaskVersionMismatchException.class);
+        verify(taskRepository, never()).removeByIdAndOwnerId(any(), any());
+    }
+
+    @Test
+    void createAll_shouldSaveTasksAndFlushEveryBatch() {
+        // given
+        List<TaskDto> dtos = List.of(taskDto, taskDto, taskDto);
+        when(taskMapper.toEntity(taskDto)).thenReturn(task);
+        when(taskRepository.save(task)).thenReturn(task);
+
+        // when
+        List<TaskBatchResult> results = taskService.createAll(OWNER_ID, dtos);
+
+        // then
+        assertThat(results).extracting(TaskBatchResult::status)
+            .containsOnly(TaskBatchResult.Status.CREATED);
+        verify(taskRepository, times(3)).save(task);
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void createAll_shouldReportInvalidItemsAndSaveTheRest() {
+        // given
+        TaskDto tooLong = new TaskDto(null, "x".repeat(256), null, null);
+        List<TaskDto> dtos = Arrays.asList(taskDto, null, tooLong);
+        when(taskMapper.toEntity(taskDto)).thenReturn(task);
+        when(taskRepository.save(task)).thenReturn(task);
+
+        // when
+        List<TaskBatchResult> results = taskService.createAll(OWNER_ID, dtos);
+
+        // then
+        assertThat(results).extracting(TaskBatchResult::status).containsExactly(
+            TaskBatchResult.Status.CREATED,
+            TaskBatchResult.Status.INVALID,
+            TaskBatchResult.Status.INVALID);
+        assertThat(results).extracting(TaskBatchResult::id).containsExactly(taskId, null, null);
+        verify(taskRepository, times(1)).save(task);
+        verify(eventPublisher, times(1)).publishEvent(any(TaskEvent.class));
+    }
+
+    @Test
+    void updateAll_shouldReportOutcomePerItem() {
+        // given
+        UUID missingId = UUID.randomUUID();
+        TaskDto updated = new TaskDto(taskId, "Updated Title", null, null);
+        TaskDto missing = new TaskDto(missingId, "Missing", null, null);
+        TaskDto withoutId = new TaskDto(null, "Invalid", null, null);
+        when(taskRepository.findAllByOwnerIdAndIdIn(OWNER_ID, List.of(taskId, missingId))).thenReturn(List.of(task));
+        when(taskRepository.findAllByOwnerIdAndIdIn(OWNER_ID, List.of())).thenReturn(List.of());
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+
+        // when
+        List<TaskBatchResult> results = taskService.updateAll(OWNER_ID, List.of(updated, missing, withoutId));
+
+        // then
+        assertThat(results).extracting(TaskBatchResult::status).containsExactly(
+            TaskBatchResult.Status.UPDATED,
+            TaskBatchResult.Status.NOT_FOUND,
+            TaskBatchResult.Status.INVALID);
+        assertThat(task.getTitle()).isEqualTo("Updated Title");
+        verify(entityManager, times(2)).flush();
+        verify(cache).evict(cacheKey);
+        verifyNoMoreInteractions(cache);
+    }
+
+    @Test
+    void updateAll_whenWriteBehindEnabled_shouldEnqueueEachUpdateAgainstItsCurrentVersion() {
+        // given
+        ReflectionTestUtils.setField(taskService, "writeBehind", true);
+        UUID missingId = UUID.randomUUID();
+        TaskDto updated = new TaskDto(taskId, "Updated Title", null, null);
+        TaskDto missing = new TaskDto(missingId, "Missing", null, null);
+        TaskDto withoutId = new TaskDto(null, "Invalid", null, null);
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+        when(cache.get(cacheKey, TaskDto.class)).thenReturn(taskDto);
+        when(taskRepository.findByIdAndOwnerId(missingId, OWNER_ID)).thenReturn(Optional.empty());
+
+        // when
+        List<TaskBatchResult> results = taskService.updateAll(OWNER_ID, List.of(updated, missing, withoutId));
+
+        // then
+        assertThat(results).extracting(TaskBatchResult::status).containsExactly(
+            TaskBatchResult.Status.UPDATED,
+            TaskBatchResult.Status.NOT_FOUND,
+            TaskBatchResult.Status.INVALID);
+        TaskDto expected = new TaskDto(taskId, "Updated Title", null, null, 4L);
+        verify(writeBehindQueue).enqueue(OWNER_ID, taskId, expected, 3L, false);
+        verifyNoMoreInteractions(writeBehindQueue);
+        verify(cache).put(cacheKey, expected);
+        verify(taskRepository, never()).findAllByOwnerIdAndIdIn(any(), any());
+        verify(entityManager, never()).flush();
+    }
+
+    @Test
+    void deleteAll_shouldDeleteExistingTasksInOneStatementPerBatch() {
+        // given
+        UUID missingId = UUID.randomUUID();
+        when(taskRepository.findExistingIds(OWNER_ID, List.of(taskId, missingId))).thenReturn(List.of(taskId));
+        when(taskRepository.findExistingIds(OWNER_ID, List.of())).thenReturn(List.of());
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+
         // when
-        taskService.delete(taskId);
+        List<TaskBatchResult> results = taskService.deleteAll(OWNER_ID, Arrays.asList(taskId, missingId, null));
 
         // then
-        verify(taskRepository).deleteById(taskId);
+        assertThat(results).extracting(TaskBatchResult::status).containsExactly(
+            TaskBatchResult.Status.DELETED,
+            TaskBatchResult.Status.NOT_FOUND,
+            TaskBatchResult.Status.INVALID);
+        verify(taskRepository).deleteAllByIdInBatch(Set.of(taskId));
+        verify(entityManager).persist(any(TaskTombstone.class));
+        verify(cache).evict(cacheKey);
+        verifyNoMoreInteractions(cache);
     }
-} 
\ No newline at end of file
+}
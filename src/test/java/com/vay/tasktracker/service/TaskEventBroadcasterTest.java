@@ -0,0 +1,266 @@
+package com.vay.tasktracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vay.tasktracker.controller.TaskController;
+import com.vay.tasktracker.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventBroadcasterTest {
+
+    private static final Long OWNER_ID = 7L;
+
+    @Mock
+    private TaskEventStream eventStream;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private TaskEventBroadcaster broadcaster;
+
+    private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor();
+
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(broadcaster, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(broadcaster, "replayLimit", 2);
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 10);
+        ReflectionTestUtils.setField(broadcaster, "sendTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(broadcaster, "sendExecutor", sendExecutor);
+        ReflectionTestUtils.setField(broadcaster, "heartbeatExecutor", heartbeatExecutor);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TaskController(taskService, broadcaster, new ObjectMapper()))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+        User owner = new User();
+        owner.setId(OWNER_ID);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(owner, null, owner.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        sendExecutor.shutdownNow();
+        heartbeatExecutor.shutdownNow();
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ReplaysMissedEventsThenForwardsLiveEventsOnce() throws Exception {
+        // given
+        when(eventStream.readAfter(OWNER_ID, "1-0", 3)).thenAnswer(invocation -> {
+            broadcaster.broadcast(entry("3-0"));
+            broadcaster.broadcast(entry("4-0"));
+            return Optional.of(List.of(entry("2-0"), entry("3-0")));
+        });
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream").header("Last-Event-ID", "1-0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        broadcaster.broadcast(entry("5-0"));
+
+        // then
+        assertThat(eventIds(result)).containsExactly("2-0", "3-0", "4-0", "5-0");
+    }
+
+    @Test
+    void subscribe_WhenHistoryWasTrimmed_SendsResetBeforeLiveEvents() throws Exception {
+        // given
+        when(eventStream.readAfter(OWNER_ID, "1-0", 3)).thenReturn(Optional.empty());
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream").header("Last-Event-ID", "1-0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        broadcaster.broadcast(entry("9-0"));
+
+        // then
+        assertThat(content(result))
+                .startsWith("event:" + TaskEventBroadcaster.RESET_EVENT)
+                .contains("id:9-0");
+    }
+
+    @Test
+    void subscribe_WhenMoreEventsWereMissedThanReplayLimit_SendsReset() throws Exception {
+        // given
+        when(eventStream.readAfter(OWNER_ID, "1-0", 3))
+                .thenReturn(Optional.of(List.of(entry("2-0"), entry("3-0"), entry("4-0"))));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream").header("Last-Event-ID", "1-0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        assertThat(content(result))
+                .startsWith("event:" + TaskEventBroadcaster.RESET_EVENT);
+        assertThat(eventIds(result)).isEmpty();
+    }
+
+    @Test
+    void broadcast_DeliversEventsOnlyToSubscribersOfTheTaskOwner() throws Exception {
+        // given
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when
+        broadcaster.broadcast(new TaskEventStream.Entry(OWNER_ID + 1, "1-0", "UPDATED", "{}"));
+        broadcaster.broadcast(entry("2-0"));
+
+        // then
+        assertThat(eventIds(result)).containsExactly("2-0");
+    }
+
+    @Test
+    void broadcast_WhenSubscriberFallsBehind_DropsItWithoutBlocking() throws Exception {
+        // given
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 2);
+        CountDownLatch release = new CountDownLatch(1);
+        sendExecutor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when
+        broadcaster.broadcast(entry("1-0"));
+        broadcaster.broadcast(entry("2-0"));
+        broadcaster.broadcast(entry("3-0"));
+        release.countDown();
+
+        // then
+        assertThat(broadcaster.subscriberCount()).isZero();
+        assertThat(eventIds(result)).isEmpty();
+    }
+
+    @Test
+    void expireStalledSends_WhenSendBlocks_DropsOnlyTheStalledSubscriber() throws Exception {
+        // given
+        ExecutorService executor = Executors.newCachedThreadPool();
+        ReflectionTestUtils.setField(broadcaster, "sendExecutor", executor);
+        ReflectionTestUtils.setField(broadcaster, "sendTimeout", Duration.ZERO);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        broadcaster.subscribe(OWNER_ID, null, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                blocked.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new IOException(e);
+                }
+            }
+        });
+        broadcaster.subscribe(OWNER_ID, null, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                delivered.countDown();
+            }
+        });
+
+        try {
+            // when
+            broadcaster.broadcast(entry("1-0"));
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            broadcaster.expireStalledSends();
+
+            // then
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void heartbeat_SendsCommentToIdleSubscribers() throws Exception {
+        // given
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when
+        broadcaster.heartbeat();
+
+        // then
+        assertThat(content(result)).contains(":heartbeat");
+    }
+
+    @Test
+    void close_CompletesAndForgetsAllSubscribers() throws Exception {
+        // given
+        mockMvc.perform(get("/api/tasks/stream")).andExpect(request().asyncStarted());
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+
+        // when
+        broadcaster.close();
+
+        // then
+        assertThat(broadcaster.subscriberCount()).isZero();
+    }
+
+    private static TaskEventStream.Entry entry(String id) {
+        return new TaskEventStream.Entry(OWNER_ID, id, "UPDATED", "{}");
+    }
+
+    private String content(MvcResult result) throws Exception {
+        sendExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        return result.getResponse().getContentAsString();
+    }
+
+    private List<String> eventIds(MvcResult result) throws Exception {
+        return content(result).lines()
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> line.substring("id:".length()))
+                .toList();
+    }
+}
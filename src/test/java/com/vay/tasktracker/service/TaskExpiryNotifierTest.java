@@ -0,0 +1,194 @@
+package com.vay.tasktracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import com.vay.tasktracker.repository.TaskExpiry;
+import com.vay.tasktracker.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExpiryNotifierTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TaskExpiryNotifier notifier;
+
+    private static final Long OWNER_ID = 7L;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new TaskExpiryNotifier(taskRepository, redisTemplate, eventPublisher, meterRegistry,
+                listenerContainer, objectMapper);
+        ReflectionTestUtils.setField(notifier, "tick", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(notifier, "horizon", Duration.ofHours(1));
+        ReflectionTestUtils.setField(notifier, "batchSize", 2);
+        ReflectionTestUtils.setField(notifier, "claimTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(notifier, "grace", Duration.ofMinutes(30));
+        notifier.init();
+    }
+
+    @Test
+    void load_shouldPageThroughUpcomingExpiriesIntoTheWheel() {
+        // given
+        Instant soon = Instant.now().plus(Duration.ofMinutes(5));
+        List<TaskExpiry> first = List.of(expiry(soon), expiry(soon.plusSeconds(1)));
+        List<TaskExpiry> second = List.of(expiry(soon.plusSeconds(2)));
+        when(taskRepository.findExpiringBefore(any(), any(), any(), eq(Limit.of(2)))).thenReturn(first, second);
+
+        // when
+        notifier.load();
+
+        // then
+        verify(taskRepository).findExpiringBefore(any(), eq(TaskWatermark.MIN_ID), any(), eq(Limit.of(2)));
+        verify(taskRepository).findExpiringBefore(eq(soon.plusSeconds(1)), eq(first.get(1).id()), any(),
+                eq(Limit.of(2)));
+        assertThat(scheduled()).isEqualTo(3);
+    }
+
+    @Test
+    void load_onStartup_shouldCatchUpExpiriesFromGracePeriod() {
+        // given
+        Instant before = Instant.now().minus(Duration.ofMinutes(30));
+        when(taskRepository.findExpiringBefore(any(), any(), any(), any())).thenReturn(List.of());
+
+        // when
+        notifier.load();
+
+        // then
+        ArgumentCaptor<Instant> from = ArgumentCaptor.forClass(Instant.class);
+        verify(taskRepository).findExpiringBefore(from.capture(), eq(TaskWatermark.MIN_ID), any(), eq(Limit.of(2)));
+        assertThat(from.getValue()).isBetween(before.minusSeconds(5), before.plusSeconds(5));
+    }
+
+    @Test
+    void onMessage_shouldTrackTasksChangedOnAnyNode() throws Exception {
+        // given
+        when(taskRepository.findExpiringBefore(any(), any(), any(), any())).thenReturn(List.of());
+        notifier.load();
+        UUID id = UUID.randomUUID();
+        String data = objectMapper.writeValueAsString(created(id, Instant.now().plus(Duration.ofMinutes(10))));
+
+        // when
+        notifier.onMessage(OWNER_ID + "|1-0|CREATED|" + data);
+        notifier.onMessage("malformed");
+
+        // then
+        assertThat(scheduled()).isEqualTo(1);
+    }
+
+    @Test
+    void onTaskEvent_shouldTrackOnlyExpiriesInsideTheLoadedWindow() {
+        // given
+        when(taskRepository.findExpiringBefore(any(), any(), any(), any())).thenReturn(List.of());
+        notifier.load();
+        UUID near = UUID.randomUUID();
+        UUID far = UUID.randomUUID();
+
+        // when
+        notifier.onTaskEvent(created(near, Instant.now().plus(Duration.ofMinutes(10))));
+        notifier.onTaskEvent(created(far, Instant.now().plus(Duration.ofDays(2))));
+        notifier.onTaskEvent(new TaskEvent(TaskEvent.Type.PATCHED, OWNER_ID, near,
+                new TaskDto(near, "patched", null, null, 2L)));
+
+        // then
+        assertThat(scheduled()).isEqualTo(1);
+        notifier.onTaskEvent(new TaskEvent(TaskEvent.Type.DELETED, OWNER_ID, near, null));
+        assertThat(scheduled()).isZero();
+    }
+
+    @Test
+    void tick_shouldNotifyOnlyExpiriesStillCurrentInDatabaseAndClaimedByThisNode() throws InterruptedException {
+        // given
+        Instant due = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UUID claimed = UUID.randomUUID();
+        UUID takenElsewhere = UUID.randomUUID();
+        UUID moved = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        ReflectionTestUtils.setField(notifier, "loadedUntil", due.plus(Duration.ofHours(1)));
+        List.of(claimed, takenElsewhere, moved, deleted).forEach(id -> notifier.onTaskEvent(created(id, due)));
+        List<TaskExpiry> database = List.of(new TaskExpiry(claimed, OWNER_ID, due),
+                new TaskExpiry(takenElsewhere, OWNER_ID, due),
+                new TaskExpiry(moved, OWNER_ID, due.plus(Duration.ofMinutes(5))));
+        when(taskRepository.findExpiriesByIdIn(anyList())).thenAnswer(invocation -> database.stream()
+                .filter(task -> invocation.<List<UUID>>getArgument(0).contains(task.id()))
+                .toList());
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            List<Object> results = new ArrayList<>();
+            RedisConnection connection = mock(RedisConnection.class);
+            RedisStringCommands commands = mock(RedisStringCommands.class);
+            when(connection.stringCommands()).thenReturn(commands);
+            when(commands.set(any(), any(), any(), any())).thenAnswer(set -> {
+                results.add(new String(set.<byte[]>getArgument(0)).contains(claimed.toString()));
+                return null;
+            });
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return results;
+        });
+        Thread.sleep(30);
+
+        // when
+        notifier.tick();
+
+        // then
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEvent.Type.EXPIRED, OWNER_ID, claimed, null));
+        verifyNoMoreInteractions(eventPublisher);
+        assertThat(meterRegistry.get("tasks.expiry.notified").counter().count()).isEqualTo(1);
+        assertThat(scheduled()).isEqualTo(1);
+    }
+
+    private int scheduled() {
+        return (int) meterRegistry.get("tasks.expiry.scheduled").gauge().value();
+    }
+
+    private static TaskExpiry expiry(Instant expiryDate) {
+        return new TaskExpiry(UUID.randomUUID(), OWNER_ID, expiryDate);
+    }
+
+    private static TaskEvent created(UUID id, Instant expiryDate) {
+        return new TaskEvent(TaskEvent.Type.CREATED, OWNER_ID, id, new TaskDto(id, "title", null, expiryDate, 0L));
+    }
+}
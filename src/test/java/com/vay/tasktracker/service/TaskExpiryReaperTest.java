@@ -0,0 +1,118 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExpiryReaperTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private LeaderLock leaderLock;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TaskExpiryReaper reaper;
+
+    private static final Long OWNER_ID = 7L;
+
+    @BeforeEach
+    void setUp() {
+        reaper = new TaskExpiryReaper(jdbcTemplate, transactionTemplate, leaderLock, cacheManager, eventPublisher,
+                meterRegistry);
+        ReflectionTestUtils.setField(reaper, "grace", Duration.ofHours(1));
+        ReflectionTestUtils.setField(reaper, "batchSize", 2);
+        ReflectionTestUtils.setField(reaper, "maxRowsPerSecond", 1000);
+        ReflectionTestUtils.setField(reaper, "lockTtl", Duration.ofMinutes(1));
+        reaper.registerMetrics();
+    }
+
+    @Test
+    void reap_shouldDeleteBatchesUntilShortBatchThenEvictAndPublishDeletions() {
+        // given
+        List<TaskExpiryReaper.ReapedTask> first = reaped(2);
+        List<TaskExpiryReaper.ReapedTask> second = reaped(1);
+        when(leaderLock.tryAcquire(eq("task-expiry-reaper"), any())).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Timestamp.class), anyInt()))
+                .thenReturn(List.copyOf(first), List.copyOf(second));
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+
+        // when
+        reaper.reap();
+
+        // then
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), any(Timestamp.class), eq(2));
+        verify(eventPublisher, times(3)).publishEvent(any(TaskEvent.class));
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEvent.Type.DELETED, OWNER_ID, second.get(0).id(), null));
+        verify(cache).evict(TaskCacheKeys.of(OWNER_ID, first.get(0).id()));
+        verify(cache).evict(TaskCacheKeys.of(OWNER_ID, first.get(1).id()));
+        verify(cache).evict(TaskCacheKeys.of(OWNER_ID, second.get(0).id()));
+        assertThat(meterRegistry.get("tasks.reaper.reaped").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void reap_whenLockHeldByAnotherNode_shouldOnlyReportLag() {
+        // given
+        when(leaderLock.tryAcquire(eq("task-expiry-reaper"), any())).thenReturn(false);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class), any(Timestamp.class)))
+                .thenReturn(Timestamp.from(Instant.now().minus(Duration.ofHours(3))));
+
+        // when
+        reaper.reap();
+
+        // then
+        verifyNoInteractions(transactionTemplate, eventPublisher);
+        assertThat(meterRegistry.get("tasks.reaper.lag").timeGauge().value(TimeUnit.HOURS)).isBetween(1.9, 2.1);
+    }
+
+    private static List<TaskExpiryReaper.ReapedTask> reaped(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TaskExpiryReaper.ReapedTask(UUID.randomUUID(), OWNER_ID))
+                .toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.vay.tasktracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskExpiryWheelTest {
+
+    private static final long TICK = 1000;
+    private static final long OWNER_ID = 7L;
+
+    @Test
+    void advance_shouldFireEveryEntryAtItsDeadlineTickAcrossLevels() {
+        // given
+        TaskExpiryWheel wheel = new TaskExpiryWheel(TICK, 2, 3, 0, 16);
+        Map<UUID, Long> deadlines = new HashMap<>();
+        List<Long> ticks = new ArrayList<>();
+        for (long tick = 1; tick <= 200; tick++) {
+            ticks.add(tick);
+        }
+        Collections.shuffle(ticks, new Random(42));
+        ticks.forEach(tick -> {
+            UUID id = UUID.randomUUID();
+            deadlines.put(id, tick * TICK + 500);
+            wheel.schedule(id, OWNER_ID, tick * TICK + 500);
+        });
+
+        // when
+        Map<UUID, Long> firedAt = new HashMap<>();
+        for (long tick = 1; tick <= 200; tick++) {
+            long now = tick * TICK;
+            wheel.advance(now).forEach(expiry -> firedAt.put(expiry.id(), now));
+        }
+
+        // then
+        assertThat(firedAt).hasSize(200);
+        firedAt.forEach((id, now) -> assertThat(now / TICK).isEqualTo(deadlines.get(id) / TICK));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void schedule_whenTaskAlreadyTracked_shouldReplaceDeadline() {
+        // given
+        TaskExpiryWheel wheel = new TaskExpiryWheel(TICK, 6, 4, 0, 16);
+        UUID id = UUID.randomUUID();
+        wheel.schedule(id, OWNER_ID, 5 * TICK);
+
+        // when
+        wheel.schedule(id, OWNER_ID, 90 * TICK);
+        boolean loaded = wheel.scheduleIfAbsent(id, OWNER_ID, 10 * TICK);
+
+        // then
+        assertThat(loaded).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(89 * TICK)).isEmpty();
+        assertThat(wheel.advance(90 * TICK))
+                .containsExactly(new TaskExpiryWheel.Expiry(id, OWNER_ID, 90 * TICK));
+    }
+
+    @Test
+    void schedule_whenDeadlineAlreadyPassed_shouldFireOnNextTick() {
+        // given
+        TaskExpiryWheel wheel = new TaskExpiryWheel(TICK, 6, 4, 100 * TICK, 16);
+        UUID id = UUID.randomUUID();
+
+        // when
+        wheel.schedule(id, OWNER_ID, 10 * TICK);
+
+        // then
+        assertThat(wheel.advance(100 * TICK + 999)).isEmpty();
+        assertThat(wheel.advance(101 * TICK)).extracting(TaskExpiryWheel.Expiry::id).containsExactly(id);
+    }
+
+    @Test
+    void cancel_shouldRemoveEntriesAndReuseTheirSlotsAsTheWheelGrows() {
+        // given
+        TaskExpiryWheel wheel = new TaskExpiryWheel(TICK, 6, 4, 0, 16);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            wheel.schedule(id, OWNER_ID, (1 + i % 300) * TICK);
+        }
+
+        // when
+        ids.subList(0, 5_000).forEach(wheel::cancel);
+        ids.subList(0, 5_000).forEach(id -> wheel.scheduleIfAbsent(id, OWNER_ID, 400 * TICK));
+        List<UUID> fired = new ArrayList<>();
+        for (long tick = 1; tick <= 300; tick++) {
+            wheel.advance(tick * TICK).forEach(expiry -> fired.add(expiry.id()));
+        }
+
+        // then
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(ids.subList(5_000, 10_000));
+        assertThat(wheel.size()).isEqualTo(5_000);
+        assertThat(wheel.cancel(ids.get(0))).isTrue();
+        assertThat(wheel.cancel(ids.get(0))).isFalse();
+        assertThat(wheel.advance(400 * TICK)).hasSize(4_999);
+    }
+}
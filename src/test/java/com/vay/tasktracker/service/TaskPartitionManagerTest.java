@@ -0,0 +1,156 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.dto.payload.TaskEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private LeaderLock leaderLock;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TaskPartitionManager partitionManager;
+
+    private final YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(partitionManager, "monthsAhead", 2);
+        ReflectionTestUtils.setField(partitionManager, "retention", Duration.ofDays(90));
+        ReflectionTestUtils.setField(partitionManager, "lockTtl", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void maintain_whenLockHeldByAnotherNode_shouldSkip() {
+        // given
+        when(leaderLock.tryAcquire(eq("task-partitions"), any())).thenReturn(false);
+
+        // when
+        partitionManager.maintain();
+
+        // then
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void maintain_shouldCreateMissingMonthsAndDropPartitionsPastRetention() {
+        // given
+        String expired = TaskPartitionManager.partitionName(current.minusMonths(6));
+        when(leaderLock.tryAcquire(eq("task-partitions"), any())).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "tasks_default", expired, TaskPartitionManager.partitionName(current)));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Timestamp.class), any(Timestamp.class)))
+                .thenReturn(false);
+        List<TaskPartitionManager.PurgedTask> purged = List.of(purgedTask(), purgedTask());
+        when(jdbcTemplate.query(contains("from " + expired + " "), any(RowMapper.class))).thenReturn(purged);
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+        runTransactionsInline();
+
+        // when
+        partitionManager.maintain();
+
+        // then
+        verify(jdbcTemplate, never()).execute(startsWith(
+                "create table " + TaskPartitionManager.partitionName(current) + " "));
+        verify(jdbcTemplate).execute(startsWith(
+                "create table " + TaskPartitionManager.partitionName(current.plusMonths(1)) + " "));
+        verify(jdbcTemplate).execute(startsWith(
+                "create table " + TaskPartitionManager.partitionName(current.plusMonths(2)) + " "));
+        verify(jdbcTemplate, never()).execute(contains("tasks_default"));
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("alter table tasks detach partition " + expired);
+        inOrder.verify(jdbcTemplate).query(contains("from " + expired + " "), any(RowMapper.class));
+        inOrder.verify(jdbcTemplate).execute("drop table " + expired);
+        verify(jdbcTemplate, never()).query(startsWith("delete"), any(RowMapper.class), any());
+        purged.forEach(task -> {
+            verify(eventPublisher).publishEvent(new TaskEvent(TaskEvent.Type.DELETED, task.ownerId(), task.id(), null));
+            verify(cache).evict(task.ownerId() + ":" + task.id());
+        });
+        verify(leaderLock).release("task-partitions");
+    }
+
+    @Test
+    void maintain_whenDefaultPartitionHoldsRowsForNewMonth_shouldAttachPrefilledTable() {
+        // given
+        String partition = TaskPartitionManager.partitionName(current.plusMonths(2));
+        when(leaderLock.tryAcquire(eq("task-partitions"), any())).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "tasks_default",
+                TaskPartitionManager.partitionName(current),
+                TaskPartitionManager.partitionName(current.plusMonths(1))));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Timestamp.class), any(Timestamp.class)))
+                .thenReturn(true);
+        runTransactionsInline();
+
+        // when
+        partitionManager.maintain();
+
+        // then
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(startsWith("create table " + partition + " (\n    like tasks"));
+        inOrder.verify(jdbcTemplate).update(eq("with moved as (delete from tasks_default where expiry_date >= ? "
+                + "and expiry_date < ? returning *) insert into " + partition + " select * from moved"),
+                any(Timestamp.class), any(Timestamp.class));
+        inOrder.verify(jdbcTemplate).execute(startsWith("alter table tasks attach partition " + partition + " for values"));
+        inOrder.verify(jdbcTemplate).execute("alter table " + partition + " drop constraint " + partition + "_range");
+        verify(jdbcTemplate, never()).execute(contains("detach partition tasks_default"));
+    }
+
+    private static TaskPartitionManager.PurgedTask purgedTask() {
+        return new TaskPartitionManager.PurgedTask(UUID.randomUUID(), 7L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+    }
+}
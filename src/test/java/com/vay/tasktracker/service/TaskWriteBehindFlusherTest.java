@@ -0,0 +1,269 @@
+package com.vay.tasktracker.service;
+
+import com.vay.tasktracker.dto.payload.TaskDto;
+import com.vay.tasktracker.repository.TaskPatchRepository;
+import com.vay.tasktracker.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskWriteBehindFlusherTest {
+
+    @Mock
+    private TaskWriteBehindQueue queue;
+
+    @Mock
+    private LeaderLock leaderLock;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private TaskWriteBehindFlusher flusher;
+
+    private static final Long OWNER_ID = 7L;
+    private static final long FENCE = 5L;
+    private static final String FENCE_SQL = "update write_behind_fences set token = ? where name = ? and token < ?";
+
+    private final UUID taskId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(flusher, "batchSize", 3);
+        ReflectionTestUtils.setField(flusher, "lockTtl", Duration.ofSeconds(10));
+    }
+
+    @Test
+    void flushBatch_CoalescesUpdatesPerTaskAndEvictsSettledEntries() {
+        // given
+        TaskDto first = new TaskDto(taskId, "first", null, null, 1L);
+        TaskDto second = new TaskDto(taskId, "second", null, null, 2L);
+        List<TaskWriteBehindQueue.Entry> entries = List.of(
+                new TaskWriteBehindQueue.Entry(RecordId.of("1-0"), taskId, OWNER_ID, first, 0L, false),
+                new TaskWriteBehindQueue.Entry(RecordId.of("2-0"), taskId, OWNER_ID, second, 1L, false));
+        when(queue.read(3)).thenReturn(entries);
+        passFence();
+        runTransactionsInline();
+        when(taskRepository.replaceAll(any())).thenReturn(new int[]{1});
+        when(queue.acknowledge(entries)).thenReturn(List.of(taskId));
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+
+        // when
+        int flushed = flusher.flushBatch(FENCE);
+
+        // then
+        assertThat(flushed).isEqualTo(2);
+        verify(taskRepository).replaceAll(List.of(new TaskPatchRepository.VersionedUpdate(second, 0L)));
+        verify(taskRepository, never()).patchAll(any());
+        verify(queue, never()).deadLetter(any(), any());
+        verify(cache).evict(OWNER_ID + ":" + taskId);
+    }
+
+    @Test
+    void flushBatch_MergesPartialUpdatesIntoPreviousState() {
+        // given
+        List<TaskWriteBehindQueue.Entry> entries = List.of(
+                new TaskWriteBehindQueue.Entry(RecordId.of("1-0"), taskId, OWNER_ID, new TaskDto(taskId, "full", "d", null, 1L), 0L, false),
+                new TaskWriteBehindQueue.Entry(RecordId.of("2-0"), taskId, OWNER_ID, new TaskDto(taskId, "patched", null, null, 2L), 1L, true));
+        when(queue.read(3)).thenReturn(entries);
+        passFence();
+        runTransactionsInline();
+        when(taskRepository.replaceAll(any())).thenReturn(new int[]{1});
+        when(queue.acknowledge(entries)).thenReturn(List.of());
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+
+        // when
+        flusher.flushBatch(FENCE);
+
+        // then
+        verify(taskRepository).replaceAll(List.of(
+                new TaskPatchRepository.VersionedUpdate(new TaskDto(taskId, "patched", "d", null, 2L), 0L)));
+        verify(taskRepository, never()).patchAll(any());
+    }
+
+    @Test
+    void flushBatch_WhenStoredVersionMovedOn_DeadLettersTheStaleUpdate() {
+        // given
+        UUID staleId = UUID.randomUUID();
+        TaskWriteBehindQueue.Entry current = new TaskWriteBehindQueue.Entry(RecordId.of("1-0"), taskId, OWNER_ID,
+                new TaskDto(taskId, "current", null, null, 1L), 0L, false);
+        TaskWriteBehindQueue.Entry stale = new TaskWriteBehindQueue.Entry(RecordId.of("2-0"), staleId, OWNER_ID,
+                new TaskDto(staleId, "stale", null, null, 4L), 3L, false);
+        when(queue.read(3)).thenReturn(List.of(current, stale));
+        passFence();
+        runTransactionsInline();
+        when(taskRepository.replaceAll(any())).thenReturn(new int[]{1, 0});
+        when(queue.acknowledge(List.of(current))).thenReturn(List.of(taskId));
+        when(queue.deadLetter(List.of(stale), "version conflict")).thenReturn(List.of(staleId));
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+
+        // when
+        flusher.flushBatch(FENCE);
+
+        // then
+        verify(cache).evict(OWNER_ID + ":" + taskId);
+        verify(cache).evict(OWNER_ID + ":" + staleId);
+    }
+
+    @Test
+    void flushBatch_WhenQueuedUpdatesRaced_AppliesTheFirstAndDeadLettersTheOther() {
+        // given
+        TaskWriteBehindQueue.Entry first = new TaskWriteBehindQueue.Entry(RecordId.of("1-0"), taskId, OWNER_ID,
+                new TaskDto(taskId, "first", null, null, 1L), 0L, false);
+        TaskWriteBehindQueue.Entry raced = new TaskWriteBehindQueue.Entry(RecordId.of("2-0"), taskId, OWNER_ID,
+                new TaskDto(taskId, "raced", null, null, 1L), 0L, false);
+        when(queue.read(3)).thenReturn(List.of(first, raced));
+        passFence();
+        runTransactionsInline();
+        when(taskRepository.replaceAll(any())).thenReturn(new int[]{1});
+        when(queue.acknowledge(List.of(first))).thenReturn(List.of());
+        when(queue.deadLetter(List.of(raced), "version conflict")).thenReturn(List.of(taskId));
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+
+        // when
+        flusher.flushBatch(FENCE);
+
+        // then
+        verify(taskRepository).replaceAll(List.of(new TaskPatchRepository.VersionedUpdate(first.task(), 0L)));
+        verify(cache).evict(OWNER_ID + ":" + taskId);
+    }
+
+    @Test
+    void flushBatch_WhenTransactionFails_KeepsEntriesQueued() {
+        // given
+        List<TaskWriteBehindQueue.Entry> entries = List.of(entry());
+        when(queue.read(3)).thenReturn(entries);
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        // when/then
+        assertThatThrownBy(() -> flusher.flushBatch(FENCE)).isInstanceOf(IllegalStateException.class);
+        verify(queue, never()).acknowledge(any());
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    void flushBatch_WhenBatchRejected_DeadLettersOnlyTheRejectedTask() {
+        // given
+        UUID poisonId = UUID.randomUUID();
+        TaskDto good = new TaskDto(taskId, "good", null, null, 1L);
+        TaskDto poison = new TaskDto(poisonId, "poison", null, null, 1L);
+        TaskWriteBehindQueue.Entry goodEntry = new TaskWriteBehindQueue.Entry(RecordId.of("1-0"), taskId, OWNER_ID, good, 0L, false);
+        TaskWriteBehindQueue.Entry poisonEntry = new TaskWriteBehindQueue.Entry(RecordId.of("2-0"), poisonId, OWNER_ID, poison, 0L, false);
+        when(queue.read(3)).thenReturn(List.of(goodEntry, poisonEntry));
+        passFence();
+        runTransactionsInline();
+        when(taskRepository.replaceAll(any())).thenAnswer(invocation -> {
+            if (invocation.<List<TaskPatchRepository.VersionedUpdate>>getArgument(0)
+                    .contains(new TaskPatchRepository.VersionedUpdate(poison, 0L))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return new int[]{1};
+        });
+        when(queue.acknowledge(List.of(goodEntry))).thenReturn(List.of(taskId));
+        when(queue.deadLetter(List.of(poisonEntry), "value too long")).thenReturn(List.of(poisonId));
+        when(cacheManager.getCache("tasks")).thenReturn(cache);
+
+        // when
+        int flushed = flusher.flushBatch(FENCE);
+
+        // then
+        assertThat(flushed).isEqualTo(2);
+        verify(queue, never()).acknowledge(List.of(goodEntry, poisonEntry));
+        verify(cache).evict(OWNER_ID + ":" + taskId);
+        verify(cache).evict(OWNER_ID + ":" + poisonId);
+    }
+
+    @Test
+    void flushBatch_WhenFenceWasSuperseded_RollsBackAndKeepsEntriesQueued() {
+        // given
+        List<TaskWriteBehindQueue.Entry> entries = List.of(entry());
+        when(queue.read(3)).thenReturn(entries);
+        when(jdbcTemplate.update(FENCE_SQL, FENCE, "task-write-behind", FENCE)).thenReturn(0);
+        runTransactionsInline();
+
+        // when/then
+        assertThatThrownBy(() -> flusher.flushBatch(FENCE)).isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(taskRepository);
+        verify(queue, never()).acknowledge(any());
+        verify(queue, never()).deadLetter(any(), any());
+    }
+
+    @Test
+    void flush_WhenNotLeader_DoesNotReadQueue() {
+        // given
+        when(leaderLock.tryAcquireFenced(eq("task-write-behind"), any())).thenReturn(0L);
+
+        // when
+        flusher.flush();
+
+        // then
+        verifyNoInteractions(queue, taskRepository);
+    }
+
+    @Test
+    void flush_DrainsWhileBatchesAreFullUnderANewFenceEachBatch() {
+        // given
+        when(leaderLock.tryAcquireFenced(eq("task-write-behind"), any())).thenReturn(FENCE, FENCE + 1);
+        List<TaskWriteBehindQueue.Entry> full = List.of(entry(), entry(), entry());
+        when(queue.read(3)).thenReturn(full, List.of());
+        when(jdbcTemplate.update(FENCE_SQL, FENCE, "task-write-behind", FENCE)).thenReturn(1);
+        runTransactionsInline();
+        when(taskRepository.replaceAll(any())).thenReturn(new int[]{1, 1, 1});
+        when(queue.acknowledge(full)).thenReturn(List.of());
+
+        // when
+        flusher.flush();
+
+        // then
+        verify(queue, times(2)).read(3);
+    }
+
+    private TaskWriteBehindQueue.Entry entry() {
+        UUID id = UUID.randomUUID();
+        return new TaskWriteBehindQueue.Entry(RecordId.autoGenerate(), id, OWNER_ID, new TaskDto(id, "t", null, null, 1L),
+                0L, false);
+    }
+
+    private void passFence() {
+        when(jdbcTemplate.update(FENCE_SQL, FENCE, "task-write-behind", FENCE)).thenReturn(1);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
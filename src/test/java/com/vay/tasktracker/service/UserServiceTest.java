@@ -4,12 +4,14 @@ import com.vay.tasktracker.dto.auth.RegisterRequest;
 import com.vay.tasktracker.exception.UserAlreadyExistsException;
 import com.vay.tasktracker.model.User;
 import com.vay.tasktracker.repository.UserRepository;
+import com.vay.tasktracker.security.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -29,6 +31,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private UserService userService;
 
@@ -120,6 +125,19 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void registerUser_whenConcurrentRegistrationWins_shouldThrowException() {
+        // given
+        when(userRepository.existsByUsername(USERNAME)).thenReturn(false);
+        when(userRepository.existsByEmail(EMAIL)).thenReturn(false);
+        when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCODED_PASSWORD);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // when/then
+        assertThatThrownBy(() -> userService.registerUser(registerRequest))
+            .isInstanceOf(UserAlreadyExistsException.class);
+    }
+
     @Test
     void findByUsername_whenUserExists_shouldReturnUser() {
         // given
@@ -167,4 +185,41 @@ class UserServiceTest {
             .isInstanceOf(UsernameNotFoundException.class)
             .hasMessageContaining(EMAIL);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void updateRole_whenUserExists_shouldChangeRoleAndRevokeTokens() {
+        // given
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+
+        // when
+        User result = userService.updateRole(USERNAME, User.Role.ADMIN);
+
+        // then
+        assertThat(result.getRole()).isEqualTo(User.Role.ADMIN);
+        verify(tokenRevocationService).revokeTokens(USERNAME);
+    }
+
+    @Test
+    void updateRole_whenUserDoesNotExist_shouldThrowException() {
+        // given
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.empty());
+
+        // when/then
+        assertThatThrownBy(() -> userService.updateRole(USERNAME, User.Role.ADMIN))
+            .isInstanceOf(UsernameNotFoundException.class);
+        verify(tokenRevocationService, never()).revokeTokens(any());
+    }
+
+    @Test
+    void updatePassword_whenUserExists_shouldStoreNewHash() {
+        // given
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+
+        // when
+        var result = userService.updatePassword(user, "upgradedHash");
+
+        // then
+        assertThat(result.getPassword()).isEqualTo("upgradedHash");
+        assertThat(user.getPassword()).isEqualTo("upgradedHash");
+    }
+}